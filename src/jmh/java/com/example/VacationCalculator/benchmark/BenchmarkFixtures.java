@@ -0,0 +1,96 @@
+package com.example.VacationCalculator.benchmark;
+
+import com.vacation.config.CalendarCacheProperties;
+import com.vacation.config.IsDayOffProperties;
+import com.vacation.config.LocalCalendarProperties;
+import com.vacation.config.VacationResultCacheProperties;
+import com.vacation.controller.VacationController;
+import com.vacation.integration.CaffeineCalendarCache;
+import com.vacation.integration.CalendarSnapshotStore;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.RuleBasedCalendarProvider;
+import com.vacation.integration.SharedCalendarCache;
+import com.vacation.service.BulkCalculationService;
+import com.vacation.service.VacationBatchService;
+import com.vacation.service.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.StringJoiner;
+
+/**
+ * Сборка объектов для бенчмарков без Spring-контекста и без сети.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static IsDayOffClient isDayOffClient(StubRestTemplate restTemplate) {
+        return new IsDayOffClient(restTemplate, new IsDayOffProperties(),
+                loader -> new CaffeineCalendarCache(new CalendarCacheProperties(), loader), CalendarSnapshotStore.disabled(),
+                SharedCalendarCache.disabled(), Runnable::run, new SimpleMeterRegistry());
+    }
+
+    static RuleBasedCalendarProvider ruleBasedCalendarProvider() {
+        return new RuleBasedCalendarProvider(new LocalCalendarProperties());
+    }
+
+    static VacationPayService vacationPayService(HolidayCalendarProvider calendarProvider) {
+        return new VacationPayService(calendarProvider, new SimpleMeterRegistry(), new VacationResultCacheProperties());
+    }
+
+    static VacationPayService cachingVacationPayService(HolidayCalendarProvider calendarProvider) {
+        VacationResultCacheProperties properties = new VacationResultCacheProperties();
+        properties.setEnabled(true);
+        return new VacationPayService(calendarProvider, new SimpleMeterRegistry(), properties);
+    }
+
+    static VacationController vacationController(IsDayOffClient isDayOffClient) {
+        VacationPayService vacationPayService = vacationPayService(isDayOffClient);
+        VacationBatchService vacationBatchService = new VacationBatchService(vacationPayService, isDayOffClient,
+                Validation.buildDefaultValidatorFactory().getValidator(), 10000);
+        BulkCalculationService bulkCalculationService = new BulkCalculationService(vacationBatchService, JsonMapper.builder().build());
+        return new VacationController(vacationPayService, vacationBatchService, bulkCalculationService, Duration.ofHours(1));
+    }
+
+    //Ответ isdayoff.ru за год: выходные, январские и майские праздники
+    static String yearResponse(int year) {
+        StringJoiner joiner = new StringJoiner("%0A");
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            joiner.add(String.valueOf(statusCode(date)));
+        }
+        return joiner.toString();
+    }
+
+    private static int statusCode(LocalDate date) {
+        if (date.getMonth() == Month.JANUARY && date.getDayOfMonth() <= 8
+                || date.getMonth() == Month.MAY && (date.getDayOfMonth() == 1 || date.getDayOfMonth() == 9)) {
+            return 8;
+        }
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY ? 1 : 0;
+    }
+
+    //RestTemplate, отвечающий сгенерированным календарем на запрос любого года
+    static class StubRestTemplate extends RestTemplate {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> getForEntity(String url, Class<T> responseType, Object... uriVariables) {
+            int yearIndex = url.indexOf("date1=") + "date1=".length();
+            String body = yearResponse(Integer.parseInt(url.substring(yearIndex, yearIndex + 4)));
+            Object result = responseType == byte[].class ? body.getBytes(StandardCharsets.US_ASCII) : body;
+            return new ResponseEntity<>((T) result, HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.VacationCalculator.benchmark;
+
+import com.vacation.model.request.DateRange;
+import com.vacation.model.request.PaidDaysRequest;
+import com.vacation.model.response.PaidDaysResponse;
+import com.vacation.service.CalendarQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CalendarQueryServiceBenchmark {
+
+    @Param({"1", "100", "1000"})
+    int rangeCount;
+
+    private CalendarQueryService calendarQueryService;
+    private PaidDaysRequest request;
+
+    @Setup
+    public void setUp() {
+        calendarQueryService = new CalendarQueryService(BenchmarkFixtures.ruleBasedCalendarProvider(), 10000);
+
+        //Случайные периоды до года внутри 2024-2026, для которых есть локальные правила
+        Random random = new Random(42);
+        List<DateRange> ranges = new ArrayList<>(rangeCount);
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < rangeCount; i++) {
+            LocalDate start = first.plusDays(random.nextInt(700));
+            ranges.add(new DateRange(start, start.plusDays(random.nextInt(366))));
+        }
+        request = new PaidDaysRequest(null, ranges);
+    }
+
+    @Benchmark
+    public List<PaidDaysResponse> countPaidDays() {
+        return calendarQueryService.countPaidDays(request).join();
+    }
+}
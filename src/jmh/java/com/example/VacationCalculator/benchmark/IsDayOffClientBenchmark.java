@@ -0,0 +1,62 @@
+package com.example.VacationCalculator.benchmark;
+
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.IsDayOffResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IsDayOffClientBenchmark {
+
+    @Param({"2", "14", "28", "90", "366"})
+    int rangeDays;
+
+    private IsDayOffClient warmClient;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private byte[] yearResponse;
+
+    @Setup
+    public void setUp() {
+        startDate = LocalDate.of(2026, 1, 1);
+        endDate = startDate.plusDays(rangeDays - 1);
+        warmClient = BenchmarkFixtures.isDayOffClient(new BenchmarkFixtures.StubRestTemplate());
+        warmClient.getCalendarYear(2026);
+        warmClient.getCalendarYear(2027);
+        yearResponse = BenchmarkFixtures.yearResponse(2026).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public IsDayOffResponseParser.ParseResult parseYearResponse() {
+        return IsDayOffResponseParser.parse(2026, yearResponse);
+    }
+
+    @Benchmark
+    public int countPaidDaysWarmCache() {
+        return warmClient.countPaidDays(startDate, endDate);
+    }
+
+    @Benchmark
+    public int getDaysInfoWarmCache() {
+        return warmClient.getDaysInfo(startDate, endDate).size();
+    }
+
+    //Загрузка года: запрос через заглушку и разбор ответа
+    @Benchmark
+    public CalendarYear fetchAndParseYear() {
+        return BenchmarkFixtures.isDayOffClient(new BenchmarkFixtures.StubRestTemplate()).getCalendarYear(2026);
+    }
+}
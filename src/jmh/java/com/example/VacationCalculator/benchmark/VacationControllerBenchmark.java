@@ -0,0 +1,58 @@
+package com.example.VacationCalculator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+//Полный путь запроса через DispatcherServlet: биндинг параметров, валидация, расчет и сериализация ответа.
+//Контроллер возвращает CompletableFuture, поэтому ответ дописывается при async-диспетчеризации
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VacationControllerBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws Exception {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(BenchmarkFixtures.vacationController(
+                        BenchmarkFixtures.isDayOffClient(new BenchmarkFixtures.StubRestTemplate())))
+                .build();
+        calculateWithDates();
+    }
+
+    @Benchmark
+    public MvcResult calculateWithDays() throws Exception {
+        return perform(get("/api/calculate")
+                .param("averageSalary", "87654.32")
+                .param("vacationDays", "28"));
+    }
+
+    @Benchmark
+    public MvcResult calculateWithDates() throws Exception {
+        return perform(get("/api/calculate")
+                .param("averageSalary", "87654.32")
+                .param("vacationDays", "28")
+                .param("vacationDateStart", "2026-06-01")
+                .param("vacationDateEnd", "2026-06-28"));
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult asyncResult = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(asyncResult)).andReturn();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.VacationCalculator.benchmark;
+
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.VacationResponse;
+import com.vacation.service.VacationPayService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VacationPayServiceBenchmark {
+
+    @Param({"1", "14", "28", "90", "366", "1000"})
+    int rangeDays;
+
+    private VacationPayService warmService;
+    private VacationPayService localService;
+    private VacationPayService cachingService;
+    private VacationRequest datedRequest;
+    private VacationRequest daysOnlyRequest;
+
+    @Setup
+    public void setUp() {
+        LocalDate startDate = LocalDate.of(2026, 1, 1);
+        //Период из одного дня сервис не принимает, поэтому минимальный период - два дня
+        LocalDate endDate = startDate.plusDays(Math.max(rangeDays, 2) - 1);
+        datedRequest = new VacationRequest(new BigDecimal("87654.32"), Math.max(rangeDays, 2), startDate, endDate);
+        daysOnlyRequest = new VacationRequest(new BigDecimal("87654.32"), rangeDays, null, null);
+
+        IsDayOffClient isDayOffClient = BenchmarkFixtures.isDayOffClient(new BenchmarkFixtures.StubRestTemplate());
+        warmService = BenchmarkFixtures.vacationPayService(isDayOffClient);
+        warmService.calculateVacationPay(datedRequest);
+        localService = BenchmarkFixtures.vacationPayService(BenchmarkFixtures.ruleBasedCalendarProvider());
+        cachingService = BenchmarkFixtures.cachingVacationPayService(isDayOffClient);
+        cachingService.calculateVacationPayAsync(datedRequest).join();
+    }
+
+    @Benchmark
+    public VacationResponse daysOnly() {
+        return warmService.calculateVacationPay(daysOnlyRequest);
+    }
+
+    @Benchmark
+    public VacationResponse datesWarmCache() {
+        return warmService.calculateVacationPay(datedRequest);
+    }
+
+    //Календарь из локальных правил, без кэша загрузок и без RestTemplate
+    @Benchmark
+    public VacationResponse datesLocalCalendar() {
+        return localService.calculateVacationPay(datedRequest);
+    }
+
+    //Повторный одинаковый запрос с включенным кэшем результатов
+    @Benchmark
+    public VacationResponse datesResultCache() {
+        return cachingService.calculateVacationPayAsync(datedRequest).join();
+    }
+
+    //Холодный кэш: загрузка и разбор календаря через заглушку RestTemplate на каждый вызов
+    @Benchmark
+    public VacationResponse datesColdCache() {
+        IsDayOffClient isDayOffClient = BenchmarkFixtures.isDayOffClient(new BenchmarkFixtures.StubRestTemplate());
+        return BenchmarkFixtures.vacationPayService(isDayOffClient).calculateVacationPay(datedRequest);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.VacationCalculator.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Имитация isdayoff.ru в том же процессе: GET /api/getdata?date1=yyyyMMdd&date2=yyyyMMdd&cc=ru&holiday=1.
+ * Отвечает кодами дней (выходные - 1, основные праздники РФ - 8 при holiday=1, остальные - 0) с заданной задержкой,
+ * часть запросов завершает статусом 503 или кодом ошибки API 199 вместо календаря.
+ * Как и isdayoff.ru, на некорректные даты отвечает кодом 100.
+ */
+final class FakeIsDayOffServer implements AutoCloseable {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Set<MonthDay> RUSSIAN_HOLIDAYS = Set.of(
+            MonthDay.of(1, 1), MonthDay.of(1, 2), MonthDay.of(1, 3), MonthDay.of(1, 4),
+            MonthDay.of(1, 5), MonthDay.of(1, 6), MonthDay.of(1, 7), MonthDay.of(1, 8),
+            MonthDay.of(2, 23), MonthDay.of(3, 8), MonthDay.of(5, 1), MonthDay.of(5, 9),
+            MonthDay.of(6, 12), MonthDay.of(11, 4));
+
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final double badPayloadRate;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder badPayloads = new LongAdder();
+
+    FakeIsDayOffServer(Duration latency, Duration jitter, double errorRate, double badPayloadRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.badPayloadRate = badPayloadRate;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/api/getdata", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String apiUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/getdata";
+    }
+
+    //Счетчики с момента запуска: запросы, ответы 503 и ответы с кодом ошибки API
+    Counts counts() {
+        return new Counts(requests.sum(), injectedErrors.sum(), badPayloads.sum());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            pause();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < errorRate) {
+                injectedErrors.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] body;
+            if (roll < errorRate + badPayloadRate) {
+                badPayloads.increment();
+                body = "199".getBytes(StandardCharsets.US_ASCII);
+            } else {
+                body = dayCodes(parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+            if (body == null) {
+                //Как и настоящий API, на некорректную дату отвечаем кодом 100
+                body = "100".getBytes(StandardCharsets.US_ASCII);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void pause() {
+        long millis = latency.toMillis();
+        if (!jitter.isZero()) {
+            millis += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    //null, если даты в запросе отсутствуют или некорректны
+    private static byte[] dayCodes(Map<String, String> query) {
+        try {
+            LocalDate start = LocalDate.parse(query.get("date1"), DATE_FORMAT);
+            LocalDate end = LocalDate.parse(query.get("date2"), DATE_FORMAT);
+            boolean russianHolidays = "ru".equalsIgnoreCase(query.getOrDefault("cc", "ru")) && "1".equals(query.get("holiday"));
+            return dayCodes(start, end, russianHolidays);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static byte[] dayCodes(LocalDate start, LocalDate end, boolean russianHolidays) {
+        StringBuilder body = new StringBuilder(2 * 366);
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!body.isEmpty()) {
+                body.append('\n');
+            }
+            if (russianHolidays && RUSSIAN_HOLIDAYS.contains(MonthDay.from(date))) {
+                body.append('8');
+            } else if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                body.append('1');
+            } else {
+                body.append('0');
+            }
+        }
+        return body.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(pair.substring(0, separator), URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    record Counts(long requests, long injectedErrors, long badPayloads) {
+
+        Counts minus(Counts other) {
+            return new Counts(requests - other.requests, injectedErrors - other.injectedErrors, badPayloads - other.badPayloads);
+        }
+    }
+}
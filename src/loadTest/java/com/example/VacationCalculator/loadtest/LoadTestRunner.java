@@ -0,0 +1,195 @@
+package com.example.VacationCalculator.loadtest;
+
+import com.vacation.VacationCalculatorApplication;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.StreamSupport;
+
+/**
+ * Нагрузочный тест всего приложения: поднимает имитацию isdayoff.ru и приложение на случайном порту,
+ * затем подает запросы GET /api/calculate с фиксированной частотой (открытая модель: следующий запрос
+ * не ждет ответа на предыдущий) и печатает пропускную способность, p50/p99/p999 и обращения к API календаря.
+ * Параметры теста передаются как --loadtest.*, остальные аргументы - свойства приложения
+ * (например, --vacation.result-cache.enabled=true).
+ */
+public final class LoadTestRunner {
+
+    private static final String OPTION_PREFIX = "--loadtest.";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith(OPTION_PREFIX) && separator > 0) {
+                options.put(arg.substring(OPTION_PREFIX.length(), separator), arg.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        Settings settings = Settings.from(options);
+        System.out.println(settings);
+
+        try (FakeIsDayOffServer upstream = new FakeIsDayOffServer(settings.upstreamLatency(), settings.upstreamJitter(),
+                settings.upstreamErrorRate(), settings.upstreamBadPayloadRate());
+             ConfigurableApplicationContext context = startApplication(upstream, applicationArgs);
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build()) {
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            RequestMix mix = new RequestMix(URI.create("http://127.0.0.1:" + port), Year.now().getValue(),
+                    settings.distinctSalaries(), settings.seed());
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            if (!settings.warmUp().isZero()) {
+                System.out.println(runPhase("прогрев", settings.rates().getFirst(), settings.warmUp(), settings, client, mix,
+                        upstream, meterRegistry).report());
+            }
+            for (int rate : settings.rates()) {
+                System.out.println(runPhase("нагрузка", rate, settings.duration(), settings, client, mix, upstream, meterRegistry).report());
+            }
+        }
+    }
+
+    //Календарь только из имитации: без локальных правил, снимка и прогрева, чтобы каждый промах кэша доходил до API
+    private static ConfigurableApplicationContext startApplication(FakeIsDayOffServer upstream, List<String> applicationArgs) {
+        return new SpringApplicationBuilder(VacationCalculatorApplication.class)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off",
+                        "server.port=0",
+                        "calendar.upstream.api-url=" + upstream.apiUrl(),
+                        "calendar.local.enabled=false",
+                        "calendar.snapshot.enabled=false",
+                        "calendar.warm-up.enabled=false",
+                        "logging.level.com.vacation=WARN")
+                .run(applicationArgs.toArray(String[]::new));
+    }
+
+    private static PhaseResult runPhase(String name, int rate, Duration duration, Settings settings, HttpClient client,
+                                        RequestMix mix, FakeIsDayOffServer upstream, MeterRegistry meterRegistry) {
+        int total = (int) Math.max(1, rate * duration.toMillis() / 1000);
+        long intervalNanos = 1_000_000_000L / rate;
+        long[] latencies = new long[total];
+        LongAdder ok = new LongAdder();
+        LongAdder clientErrors = new LongAdder();
+        LongAdder serverErrors = new LongAdder();
+        LongAdder failures = new LongAdder();
+        LongAdder approximate = new LongAdder();
+
+        FakeIsDayOffServer.Counts upstreamBefore = upstream.counts();
+        double hitsBefore = count(meterRegistry, "calendar.cache.gets", "result", "hit");
+        double missesBefore = count(meterRegistry, "calendar.cache.gets", "result", "miss");
+        double fallbacksBefore = count(meterRegistry, "calendar.fallbacks");
+
+        CompletableFuture<?>[] responses = new CompletableFuture[total];
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            //Задержка считается от запланированного момента: если генератор отстал, ожидание тоже попадает в замер
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(mix.next()).timeout(settings.requestTimeout()).GET().build();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, e) -> {
+                latencies[index] = System.nanoTime() - scheduled;
+                if (e != null) {
+                    failures.increment();
+                } else if (response.statusCode() >= 500) {
+                    serverErrors.increment();
+                } else if (response.statusCode() >= 400) {
+                    clientErrors.increment();
+                } else {
+                    ok.increment();
+                    if (response.body().contains("\"approximateCalendar\":true")) {
+                        approximate.increment();
+                    }
+                }
+                return null;
+            });
+        }
+        CompletableFuture.allOf(responses).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        return PhaseResult.of(name, rate, latencies,
+                new PhaseResult.ResponseCounts(ok.sum(), clientErrors.sum(), serverErrors.sum(), failures.sum(), approximate.sum()),
+                elapsedNanos, upstream.counts().minus(upstreamBefore),
+                count(meterRegistry, "calendar.cache.gets", "result", "hit") - hitsBefore,
+                count(meterRegistry, "calendar.cache.gets", "result", "miss") - missesBefore,
+                count(meterRegistry, "calendar.fallbacks") - fallbacksBefore);
+    }
+
+    //Сумма по всем странам и тегам; тип метра не важен, берется статистика COUNT
+    private static double count(MeterRegistry meterRegistry, String name, String... tags) {
+        return meterRegistry.find(name).tags(tags).meters().stream()
+                .flatMap(meter -> StreamSupport.stream(meter.measure().spliterator(), false))
+                .filter(measurement -> measurement.getStatistic() == Statistic.COUNT)
+                .mapToDouble(Measurement::getValue)
+                .sum();
+    }
+
+    record Settings(List<Integer> rates, Duration duration, Duration warmUp, Duration upstreamLatency, Duration upstreamJitter,
+                    double upstreamErrorRate, double upstreamBadPayloadRate, int distinctSalaries, long seed,
+                    Duration requestTimeout) {
+
+        static Settings from(Map<String, String> options) {
+            List<Integer> rates = Arrays.stream(options.getOrDefault("rates", "100,500").split(","))
+                    .map(String::trim)
+                    .map(Integer::valueOf)
+                    .toList();
+            if (rates.isEmpty() || rates.stream().anyMatch(rate -> rate <= 0)) {
+                throw new IllegalArgumentException("Частота запросов должна быть больше 0: " + rates);
+            }
+            return new Settings(rates,
+                    duration(options.getOrDefault("duration", "30s")),
+                    duration(options.getOrDefault("warm-up", "5s")),
+                    duration(options.getOrDefault("upstream-latency", "50ms")),
+                    duration(options.getOrDefault("upstream-jitter", "20ms")),
+                    Double.parseDouble(options.getOrDefault("upstream-error-rate", "0")),
+                    Double.parseDouble(options.getOrDefault("upstream-bad-payload-rate", "0")),
+                    Integer.parseInt(options.getOrDefault("distinct-salaries", "1000")),
+                    Long.parseLong(options.getOrDefault("seed", "42")),
+                    duration(options.getOrDefault("request-timeout", "30s")));
+        }
+
+        //Формат как в application.properties: 500ms, 30s, 2m или ISO-8601
+        private static Duration duration(String value) {
+            if (value.startsWith("P") || value.startsWith("p")) {
+                return Duration.parse(value);
+            }
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return switch (value.charAt(value.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                default -> throw new IllegalArgumentException("Некорректная длительность: " + value);
+            };
+        }
+    }
+}
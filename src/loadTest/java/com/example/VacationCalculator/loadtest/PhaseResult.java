@@ -0,0 +1,44 @@
+package com.example.VacationCalculator.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Итоги одной фазы нагрузки: ответы по классам статусов, пропускная способность,
+ * задержки от запланированного момента отправки (без coordinated omission) и обращения к имитации isdayoff.ru.
+ */
+record PhaseResult(String name, int rate, int sent, long ok, long clientErrors, long serverErrors, long failures,
+                   long approximate, long elapsedNanos, long[] sortedLatencies, FakeIsDayOffServer.Counts upstream,
+                   double cacheHits, double cacheMisses, double fallbacks) {
+
+    static PhaseResult of(String name, int rate, long[] latencies, ResponseCounts responses, long elapsedNanos,
+                          FakeIsDayOffServer.Counts upstream, double cacheHits, double cacheMisses, double fallbacks) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new PhaseResult(name, rate, latencies.length, responses.ok(), responses.clientErrors(), responses.serverErrors(),
+                responses.failures(), responses.approximate(), elapsedNanos, sorted, upstream, cacheHits, cacheMisses, fallbacks);
+    }
+
+    double throughput() {
+        return sent * 1e9 / elapsedNanos;
+    }
+
+    //Задержка по ближайшему рангу, в миллисекундах
+    double percentileMillis(double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.clamp(index, 0, sortedLatencies.length - 1)] / 1e6;
+    }
+
+    String report() {
+        return String.format(Locale.ROOT, """
+                        [%s] %d запр/с: отправлено %d, 2xx %d, 4xx %d, 5xx %d, сетевые ошибки %d, approximateCalendar %d
+                          пропускная способность %.1f запр/с, задержка мс: p50 %.2f, p99 %.2f, p999 %.2f, max %.2f
+                          isdayoff: запросов %d (503 - %d, код ошибки - %d), кэш календаря: попаданий %.0f, промахов %.0f, резервных календарей %.0f""",
+                name, rate, sent, ok, clientErrors, serverErrors, failures, approximate,
+                throughput(), percentileMillis(0.5), percentileMillis(0.99), percentileMillis(0.999), percentileMillis(1.0),
+                upstream.requests(), upstream.injectedErrors(), upstream.badPayloads(), cacheHits, cacheMisses, fallbacks);
+    }
+
+    record ResponseCounts(long ok, long clientErrors, long serverErrors, long failures, long approximate) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.VacationCalculator.loadtest;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Набор запросов GET /api/calculate, похожий на реальный поток:
+ * в основном отпуска 7-28 дней в текущем и следующем году, часть через Новый год,
+ * часть в прошлом году и в календарях других стран, часть без дат.
+ * Зарплаты берутся из ограниченного набора, чтобы одинаковые запросы повторялись, как у реальных сотрудников.
+ */
+final class RequestMix {
+
+    private static final String[] OTHER_COUNTRIES = {"by", "kz"};
+    private static final BigDecimal MIN_SALARY = new BigDecimal("30000");
+    private static final BigDecimal SALARY_STEP = new BigDecimal("250.50");
+
+    private final URI baseUri;
+    private final int currentYear;
+    private final int distinctSalaries;
+    private final Random random;
+
+    RequestMix(URI baseUri, int currentYear, int distinctSalaries, long seed) {
+        this.baseUri = baseUri;
+        this.currentYear = currentYear;
+        this.distinctSalaries = distinctSalaries;
+        this.random = new Random(seed);
+    }
+
+    //Вызывается из одного потока, который выдает запросы с заданной частотой
+    URI next() {
+        BigDecimal salary = MIN_SALARY.add(SALARY_STEP.multiply(BigDecimal.valueOf(random.nextInt(distinctSalaries))));
+        int kind = random.nextInt(100);
+        if (kind < 10) {
+            return uri(salary, 7 + random.nextInt(22), null, null, null);
+        }
+        if (kind < 50) {
+            return vacation(salary, currentYear, 7 + random.nextInt(8), null);
+        }
+        if (kind < 75) {
+            return vacation(salary, currentYear + random.nextInt(2), 28, null);
+        }
+        if (kind < 85) {
+            LocalDate start = LocalDate.of(currentYear, 12, 20 + random.nextInt(12));
+            return uri(salary, 14, start, start.plusDays(13), null);
+        }
+        if (kind < 95) {
+            return vacation(salary, currentYear - 1, 7 + random.nextInt(22), null);
+        }
+        return vacation(salary, currentYear, 14, OTHER_COUNTRIES[random.nextInt(OTHER_COUNTRIES.length)]);
+    }
+
+    //Отпуск заданной длины, начинающийся в случайный день года (может закончиться в следующем году)
+    private URI vacation(BigDecimal salary, int year, int days, String countryCode) {
+        LocalDate start = LocalDate.of(year, 1, 1).plusDays(random.nextInt(LocalDate.of(year, 1, 1).lengthOfYear()));
+        return uri(salary, days, start, start.plusDays(days - 1), countryCode);
+    }
+
+    private URI uri(BigDecimal salary, int days, LocalDate start, LocalDate end, String countryCode) {
+        StringBuilder query = new StringBuilder("averageSalary=").append(salary.toPlainString())
+                .append("&vacationDays=").append(days);
+        if (start != null) {
+            query.append("&vacationDateStart=").append(start).append("&vacationDateEnd=").append(end);
+        }
+        if (countryCode != null) {
+            query.append("&countryCode=").append(countryCode);
+        }
+        return baseUri.resolve("/api/calculate?" + query);
+    }
+}
@@ -0,0 +1,60 @@
+package com.vacation;
+
+import com.vacation.service.BulkCalculationService;
+import com.vacation.service.BulkCalculationStats;
+import com.vacation.service.BulkFormat;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Потоковый расчет отпускных из файла без запуска веб-сервера.
+ * Вход и выход - пути к файлам или "-" для stdin/stdout, формат определяется по расширению входного файла.
+ */
+public class VacationCalculatorCli {
+
+    private static final String STDIO = "-";
+
+    public static void main(String[] args) throws IOException {
+        List<String> positional = Arrays.stream(args).filter(arg -> !arg.startsWith("--")).toList();
+        if (positional.size() < 2) {
+            System.err.println("Использование: VacationCalculatorCli <вход|-> <выход|-> [csv|ndjson] [--свойство=значение...]");
+            System.exit(2);
+        }
+        String input = positional.get(0);
+        String output = positional.get(1);
+        BulkFormat format = positional.size() > 2 ? BulkFormat.valueOf(positional.get(2).toUpperCase()) : BulkFormat.fromFileName(input);
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(VacationCalculatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off", "calendar.warm-up.enabled=false");
+        if (STDIO.equals(output)) {
+            //Логи не должны смешиваться с результатами в stdout
+            builder.properties("logging.threshold.console=OFF");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run(args);
+             InputStream in = STDIO.equals(input) ? System.in : Files.newInputStream(Path.of(input));
+             OutputStream out = STDIO.equals(output) ? System.out : Files.newOutputStream(Path.of(output))) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+            BulkCalculationStats stats = context.getBean(BulkCalculationService.class).process(reader, writer, format);
+            System.err.println(stats);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.vacation.config;
+
+import com.vacation.integration.CaffeineCalendarCache;
+import com.vacation.integration.CalendarCacheFactory;
+import com.vacation.integration.InMemorySharedCalendarCache;
+import com.vacation.integration.SharedCalendarCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({CalendarCacheProperties.class, CalendarSnapshotProperties.class, LocalCalendarProperties.class,
+        CalendarWarmUpProperties.class, VacationResultCacheProperties.class, SharedCalendarCacheProperties.class})
+public class CalendarCacheConfig {
+    @Bean
+    public CalendarCacheFactory calendarCacheFactory(CalendarCacheProperties properties) {
+        return loader -> new CaffeineCalendarCache(properties, loader);
+    }
+
+    //Реализация выбирается свойством при старте, а не условиями на бинах, чтобы не зависеть от AOT-сборки
+    @Bean
+    public SharedCalendarCache sharedCalendarCache(SharedCalendarCacheProperties properties, MeterRegistry meterRegistry,
+                                                   BeanFactory beanFactory) {
+        return switch (properties.getType()) {
+            case NONE -> SharedCalendarCache.disabled();
+            case MEMORY -> new InMemorySharedCalendarCache(properties.getMaxAge());
+            case REDIS -> RedisStores.sharedCalendarCache(beanFactory, properties, meterRegistry);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "calendar.cache")
+public class CalendarCacheProperties {
+    //Максимальное число лет в кэше
+    private long maxSize = 20;
+
+    //Через сколько после загрузки год обновляется в фоне
+    private Duration refreshAfterWrite = Duration.ofDays(1);
+
+    //Через сколько после загрузки год удаляется, если обновить его не удалось
+    private Duration expireAfterWrite = Duration.ofDays(30);
+}
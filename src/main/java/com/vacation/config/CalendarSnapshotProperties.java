@@ -0,0 +1,16 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "calendar.snapshot")
+public class CalendarSnapshotProperties {
+    private boolean enabled = true;
+
+    //Файл, в который сохраняются полученные из API календари
+    private String path = "data/calendar-snapshot.bin";
+
+    //Снимок в classpath, поставляемый вместе с приложением (необязательный)
+    private String bundledResource = "calendar/snapshot.bin";
+}
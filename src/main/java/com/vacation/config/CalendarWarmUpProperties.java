@@ -0,0 +1,28 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "calendar.warm-up")
+public class CalendarWarmUpProperties {
+    private boolean enabled = true;
+
+    //Регионы, календари которых загружаются до готовности приложения
+    private List<String> regions = new ArrayList<>(List.of("ru"));
+
+    //Окно лет относительно текущего: по умолчанию прошлый, текущий и следующий
+    private int yearsBefore = 1;
+
+    private int yearsAfter = 1;
+
+    //Дольше прогрев не задерживает готовность, незагруженные годы догрузятся по запросу
+    private Duration timeout = Duration.ofSeconds(30);
+
+    //Ночное обновление окна лет; после смены года в окно попадает новый следующий год
+    private String refreshCron = "0 0 3 * * *";
+}
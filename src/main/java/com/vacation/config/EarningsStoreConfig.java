@@ -0,0 +1,22 @@
+package com.vacation.config;
+
+import com.vacation.service.EarningsWindowStore;
+import com.vacation.service.InMemoryEarningsWindowStore;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EarningsStoreProperties.class)
+public class EarningsStoreConfig {
+
+    //Как и общий кэш календарей, реализация выбирается свойством при старте
+    @Bean
+    public EarningsWindowStore earningsWindowStore(EarningsStoreProperties properties, BeanFactory beanFactory) {
+        return switch (properties.getType()) {
+            case MEMORY -> new InMemoryEarningsWindowStore(properties.getMaxEmployees());
+            case REDIS -> RedisStores.earningsWindowStore(beanFactory, properties);
+        };
+    }
+}
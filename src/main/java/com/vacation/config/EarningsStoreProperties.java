@@ -0,0 +1,21 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vacation.earnings.store")
+public class EarningsStoreProperties {
+    public enum Type {
+        MEMORY,
+        REDIS
+    }
+
+    //Хранилище окон начислений: memory - в памяти процесса (одна реплика), redis - общее для реплик и сохраняется при перезапуске
+    private Type type = Type.MEMORY;
+
+    //Предел числа сотрудников в памяти процесса; сверх него новые сотрудники получают ошибку
+    private int maxEmployees = 100_000;
+
+    private String keyPrefix = "vacation:earnings";
+}
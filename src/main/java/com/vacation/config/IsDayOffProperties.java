@@ -0,0 +1,51 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "calendar.upstream")
+public class IsDayOffProperties {
+    private String apiUrl = "https://isdayoff.ru/api/getdata";
+
+    //Страны (параметр cc), календари которых можно запрашивать у API
+    private List<String> supportedCountries = new ArrayList<>(List.of("ru", "by", "kz", "uz", "tr", "us"));
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    //Максимальное ожидание ответа API после отправки запроса
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    //Сколько запросов к API может выполняться одновременно; остальные ждут не дольше permitTimeout
+    private int maxConcurrentRequests = 4;
+
+    private Duration permitTimeout = Duration.ofSeconds(10);
+
+    //При недоступности API расчет идет по последнему известному календарю или только по выходным
+    private boolean fallbackEnabled = true;
+
+    private final Retry retry = new Retry();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;
+
+        private Duration initialBackoff = Duration.ofMillis(200);
+
+        private Duration maxBackoff = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        //Число ошибок подряд, после которого запросы к API прекращаются на openDuration
+        private int failureThreshold = 5;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "calendar.local")
+public class LocalCalendarProperties {
+    //Для лет из таблицы переносов календарь считается локально, без обращения к API
+    private boolean enabled = true;
+
+    //Таблицы отступлений по регионам: код региона -> ресурс в classpath
+    private Map<String, String> transfers = new HashMap<>(Map.of("ru", "calendar/ru-transfers.csv"));
+}
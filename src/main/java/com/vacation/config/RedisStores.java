@@ -0,0 +1,54 @@
+package com.vacation.config;
+
+import com.vacation.integration.RedisSharedCalendarCache;
+import com.vacation.integration.SharedCalendarCache;
+import com.vacation.service.EarningsWindowStore;
+import com.vacation.service.RedisEarningsWindowStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Хранилища в Redis. Spring Data Redis есть в classpath только в сборке с -Predis, поэтому типы Redis
+ * не появляются в сигнатурах бинов, а этот класс загружается, только когда свойством выбран redis.
+ */
+final class RedisStores {
+
+    private static final String CONNECTION_FACTORY_CLASS = "org.springframework.data.redis.connection.RedisConnectionFactory";
+
+    private RedisStores() {
+    }
+
+    static SharedCalendarCache sharedCalendarCache(BeanFactory beanFactory, SharedCalendarCacheProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        requireRedis("calendar.shared-cache.type");
+        return new RedisSharedCalendarCache(bytesRedisTemplate(beanFactory.getBean(RedisConnectionFactory.class)), properties,
+                meterRegistry);
+    }
+
+    static EarningsWindowStore earningsWindowStore(BeanFactory beanFactory, EarningsStoreProperties properties) {
+        requireRedis("vacation.earnings.store.type");
+        return new RedisEarningsWindowStore(new StringRedisTemplate(beanFactory.getBean(RedisConnectionFactory.class)),
+                properties.getKeyPrefix());
+    }
+
+    private static void requireRedis(String property) {
+        if (!ClassUtils.isPresent(CONNECTION_FACTORY_CLASS, RedisStores.class.getClassLoader())) {
+            throw new IllegalStateException(String.format("%s=redis требует сборки с поддержкой Redis (gradle bootJar -Predis)", property));
+        }
+    }
+
+    //Ключи - строки, значения - байты записи без дополнительной сериализации
+    private static RedisTemplate<String, byte[]> bytesRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -1,14 +1,57 @@
 package com.vacation.config;
 
+import com.vacation.integration.CalendarCacheFactory;
+import com.vacation.integration.CalendarSnapshotStore;
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.SharedCalendarCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 
 @Configuration
+@EnableConfigurationProperties(IsDayOffProperties.class)
 public class RestTemplateConfig {
+    //JDK HttpClient сам держит пул keep-alive соединений и договаривается об HTTP/2, если сервер его поддерживает
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient isDayOffHttpClient(IsDayOffProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(HttpClient isDayOffHttpClient, IsDayOffProperties properties) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(isDayOffHttpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return new RestTemplate(requestFactory);
+    }
+
+    //Исполнитель загрузок не регистрируется бином, чтобы не подменять исполнитель задач Spring Boot
+    @Bean
+    public IsDayOffClient isDayOffClient(RestTemplate restTemplate, IsDayOffProperties properties, CalendarCacheFactory cacheFactory,
+                                         CalendarSnapshotStore snapshotStore, SharedCalendarCache sharedCalendarCache,
+                                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                         MeterRegistry meterRegistry) {
+        return new IsDayOffClient(restTemplate, properties, cacheFactory, snapshotStore, sharedCalendarCache,
+                createFetchExecutor(virtualThreads), meterRegistry);
+    }
+
+    private static ExecutorService createFetchExecutor(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("calendar-fetch-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory("calendar-fetch-"));
     }
 }
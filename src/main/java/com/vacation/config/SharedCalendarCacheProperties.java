@@ -0,0 +1,35 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "calendar.shared-cache")
+public class SharedCalendarCacheProperties {
+    public enum Type {
+        NONE,
+        MEMORY,
+        REDIS
+    }
+
+    //Общий для реплик кэш календарей: none - выключен, memory - в памяти процесса, redis - Redis или совместимый сервер
+    private Type type = Type.NONE;
+
+    //Возраст записи, после которого год снова загружается из API одной из реплик
+    private Duration maxAge = Duration.ofDays(1);
+
+    private String keyPrefix = "vacation:calendar";
+
+    private final Redis redis = new Redis();
+
+    @Data
+    public static class Redis {
+        //Подключение настраивается свойствами spring.data.redis.*, здесь только защита от недоступного Redis.
+        //Число ошибок подряд, после которого обращения к Redis прекращаются на openDuration
+        private int failureThreshold = 3;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
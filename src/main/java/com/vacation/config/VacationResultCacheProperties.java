@@ -0,0 +1,13 @@
+package com.vacation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vacation.result-cache")
+public class VacationResultCacheProperties {
+    private boolean enabled = false;
+
+    //Максимальное число запомненных результатов, вытесняются давно не запрашиваемые
+    private long maxSize = 10_000;
+}
@@ -0,0 +1,42 @@
+package com.vacation.controller;
+
+import com.vacation.model.request.PaidDaysRequest;
+import com.vacation.model.response.CalendarDayResponse;
+import com.vacation.model.response.PaidDaysResponse;
+import com.vacation.service.CalendarQueryService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarController {
+    private final CalendarQueryService calendarQueryService;
+
+    public CalendarController(CalendarQueryService calendarQueryService) {
+        this.calendarQueryService = calendarQueryService;
+    }
+
+    //Число оплачиваемых дней по каждому периоду запроса, в том же порядке
+    @PostMapping("/paid-days")
+    public CompletableFuture<ResponseEntity<List<PaidDaysResponse>>> countPaidDays(
+            @Valid
+            @RequestBody
+            PaidDaysRequest request) {
+        return calendarQueryService.countPaidDays(request).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/days")
+    public CompletableFuture<ResponseEntity<List<CalendarDayResponse>>> getDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) String countryCode) {
+        return calendarQueryService.getDays(countryCode, start, end).thenApply(ResponseEntity::ok);
+    }
+}
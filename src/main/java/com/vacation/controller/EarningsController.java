@@ -0,0 +1,58 @@
+package com.vacation.controller;
+
+import com.vacation.model.request.MonthlyEarningsRequest;
+import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.AverageEarningsResponse;
+import com.vacation.model.response.VacationResponse;
+import com.vacation.service.AverageEarningsService;
+import com.vacation.service.VacationPayService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+
+
+@RestController
+@RequestMapping("/api/employees/{employeeId}")
+public class EarningsController {
+    private final AverageEarningsService averageEarningsService;
+    private final VacationPayService vacationPayService;
+
+    public EarningsController(AverageEarningsService averageEarningsService, VacationPayService vacationPayService) {
+        this.averageEarningsService = averageEarningsService;
+        this.vacationPayService = vacationPayService;
+    }
+
+    //Закрытие месяца (или исправление начислений за месяц внутри окна), в ответе обновленный средний заработок
+    @PutMapping("/earnings/{month}")
+    public ResponseEntity<AverageEarningsResponse> closeMonth(
+            @PathVariable String employeeId,
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @Valid
+            @RequestBody
+            MonthlyEarningsRequest request) {
+        return ResponseEntity.ok(averageEarningsService.closeMonth(employeeId, month, request));
+    }
+
+    @GetMapping("/earnings")
+    public ResponseEntity<AverageEarningsResponse> getAverageEarnings(@PathVariable String employeeId) {
+        return ResponseEntity.ok(averageEarningsService.getSummary(employeeId));
+    }
+
+    //Отпускные по среднему заработку сотрудника вместо переданной средней зарплаты
+    @GetMapping("/vacation-pay")
+    public CompletableFuture<ResponseEntity<VacationResponse>> calculateVacationPay(
+            @PathVariable String employeeId,
+            @RequestParam Integer vacationDays,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate vacationDateStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate vacationDateEnd,
+            @RequestParam(required = false) String countryCode) {
+        VacationRequest request = new VacationRequest(null, vacationDays, vacationDateStart, vacationDateEnd, countryCode);
+        return vacationPayService.calculateVacationPayAsync(request, averageEarningsService.getDailyAverage(employeeId))
+                .thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,29 +1,111 @@
 package com.vacation.controller;
 
+import com.vacation.integration.CalendarRegions;
 import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.VacationBatchItemResponse;
 import com.vacation.model.response.VacationResponse;
+import com.vacation.service.BulkCalculationService;
+import com.vacation.service.BulkFormat;
+import com.vacation.service.VacationCalculation;
+import com.vacation.service.VacationBatchService;
 import com.vacation.service.VacationPayService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
 @RequestMapping("/api")
 public class VacationController {
     private final VacationPayService vacationPayService;
+    private final VacationBatchService vacationBatchService;
+    private final BulkCalculationService bulkCalculationService;
+    private final CacheControl cacheControl;
 
-    public VacationController(VacationPayService vacationPayService) {
+    public VacationController(VacationPayService vacationPayService, VacationBatchService vacationBatchService,
+                              BulkCalculationService bulkCalculationService,
+                              @Value("${vacation.http.cache-max-age:1h}") Duration cacheMaxAge) {
         this.vacationPayService = vacationPayService;
+        this.vacationBatchService = vacationBatchService;
+        this.bulkCalculationService = bulkCalculationService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
     }
 
+    //Ответ зависит только от параметров и календаря, поэтому его могут кэшировать шлюз и браузер.
+    //Совпадение If-None-Match с ETag Spring превращает в 304 без тела
     @GetMapping("/calculate")
-    public ResponseEntity<VacationResponse> calculateVacationPay(
+    public CompletableFuture<ResponseEntity<VacationResponse>> calculateVacationPay(
             @Valid
             @ModelAttribute
             VacationRequest request) {
-        VacationResponse vacationResponse = vacationPayService.calculateVacationPay(request);
-        return ResponseEntity.ok(vacationResponse);
+        return vacationPayService.calculateAsync(request).thenApply(calculation -> toCacheableResponse(request, calculation));
+    }
+
+    //Без @Valid: элементы проверяются по одному в VacationBatchService, и ошибка элемента попадает в его результат,
+    //а не отклоняет весь пакет. Там же ограничен размер пакета (vacation.batch.max-size) - больший пакет получает 400
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<List<VacationBatchItemResponse>> calculateVacationPayBatch(
+            @RequestBody
+            List<VacationRequest> requests) {
+        return ResponseEntity.ok(vacationBatchService.calculateVacationPay(requests));
+    }
+
+    @PostMapping(value = "/calculate/stream", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public void calculateVacationPayStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BulkFormat format = BulkFormat.fromContentType(request.getContentType());
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+        bulkCalculationService.process(reader, writer, format);
+    }
+
+    private ResponseEntity<VacationResponse> toCacheableResponse(VacationRequest request, VacationCalculation calculation) {
+        VacationResponse response = calculation.response();
+        //Приближенный календарь временный, такой ответ кэшировать нельзя
+        if (Boolean.TRUE.equals(response.getApproximateCalendar())) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag(request, calculation.calendarVersion()))
+                .cacheControl(cacheControl)
+                .body(response);
+    }
+
+    //Сильный ETag из нормализованных параметров и версии календаря: 100000 и 100000.00 дают один и тот же ETag
+    private static String eTag(VacationRequest request, long calendarVersion) {
+        String key = String.join("|",
+                request.getAverageSalary().stripTrailingZeros().toPlainString(),
+                String.valueOf(request.getVacationDays()),
+                String.valueOf(request.getVacationDateStart()),
+                String.valueOf(request.getVacationDateEnd()),
+                CalendarRegions.normalize(request.getCountryCode()),
+                Long.toHexString(calendarVersion));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 
@@ -0,0 +1,11 @@
+package com.vacation.exception;
+
+public class CalendarUnavailableException extends RuntimeException {
+    public CalendarUnavailableException(String message) {
+        super(message);
+    }
+
+    public CalendarUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
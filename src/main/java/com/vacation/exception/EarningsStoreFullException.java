@@ -0,0 +1,7 @@
+package com.vacation.exception;
+
+public class EarningsStoreFullException extends RuntimeException {
+    public EarningsStoreFullException(String message) {
+        super(message);
+    }
+}
@@ -22,6 +22,22 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleEmployeeNotFound(EmployeeNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    //Новый сотрудник не помещается в хранилище начислений в памяти; известные сотрудники обновляются
+    @ExceptionHandler(EarningsStoreFullException.class)
+    public ResponseEntity<Map<String, Object>> handleEarningsStoreFull(EarningsStoreFullException ex) {
+        return buildErrorResponse(HttpStatus.INSUFFICIENT_STORAGE, ex.getMessage());
+    }
+
+    @ExceptionHandler(CalendarUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleCalendarUnavailable(CalendarUnavailableException ex) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,66 @@
+package com.vacation.integration;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vacation.config.CalendarCacheProperties;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+public class CaffeineCalendarCache implements CalendarCache {
+
+    private final AsyncLoadingCache<Integer, CalendarYear> cache;
+
+    public CaffeineCalendarCache(CalendarCacheProperties properties, Function<Integer, CompletableFuture<CalendarYear>> loader) {
+        this(properties, loader, ForkJoinPool.commonPool());
+    }
+
+    public CaffeineCalendarCache(CalendarCacheProperties properties, Function<Integer, CompletableFuture<CalendarYear>> loader,
+                                 Executor executor) {
+        //Загрузка возвращает future и не выполняется под блокировкой внутренней map кэша
+        AsyncCacheLoader<Integer, CalendarYear> asyncLoader = (year, loaderExecutor) -> loader.apply(year);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .refreshAfterWrite(properties.getRefreshAfterWrite())
+                .executor(executor)
+                .recordStats()
+                .buildAsync(asyncLoader);
+    }
+
+    @Override
+    public CompletableFuture<CalendarYear> getAsync(int year) {
+        return cache.get(year);
+    }
+
+    @Override
+    public void put(CalendarYear calendarYear) {
+        cache.put(calendarYear.getYear(), CompletableFuture.completedFuture(calendarYear));
+    }
+
+    @Override
+    public void refresh(int year) {
+        cache.synchronous().refresh(year);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public CalendarCacheStats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new CalendarCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                stats.loadSuccessCount(), stats.loadFailureCount());
+    }
+}
@@ -0,0 +1,41 @@
+package com.vacation.integration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Кэш производственных календарей по годам.
+ * Реализация сама загружает отсутствующие годы и обновляет устаревшие.
+ */
+public interface CalendarCache {
+
+    //Все ожидающие один и тот же год получают общий future
+    CompletableFuture<CalendarYear> getAsync(int year);
+
+    default CalendarYear get(int year) {
+        return join(getAsync(year));
+    }
+
+    void put(CalendarYear calendarYear);
+
+    //Фоновое обновление года, пока оно идет, отдается прежнее значение
+    void refresh(int year);
+
+    void invalidateAll();
+
+    long size();
+
+    CalendarCacheStats stats();
+
+    //Ожидание future с пробросом исходного исключения загрузки
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
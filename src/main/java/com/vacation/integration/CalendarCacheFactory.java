@@ -0,0 +1,10 @@
+package com.vacation.integration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@FunctionalInterface
+public interface CalendarCacheFactory {
+
+    CalendarCache create(Function<Integer, CompletableFuture<CalendarYear>> loader);
+}
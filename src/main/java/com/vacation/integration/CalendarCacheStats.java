@@ -0,0 +1,5 @@
+package com.vacation.integration;
+
+public record CalendarCacheStats(long hitCount, long missCount, long evictionCount,
+                                 long loadSuccessCount, long loadFailureCount) {
+}
@@ -0,0 +1,17 @@
+package com.vacation.integration;
+
+import java.util.Comparator;
+
+//Ключ календаря: регион и год
+public record CalendarKey(String region, int year) implements Comparable<CalendarKey> {
+    private static final Comparator<CalendarKey> ORDER = Comparator.comparing(CalendarKey::region).thenComparingInt(CalendarKey::year);
+
+    public static CalendarKey of(CalendarYear calendarYear) {
+        return new CalendarKey(calendarYear.getRegion(), calendarYear.getYear());
+    }
+
+    @Override
+    public int compareTo(CalendarKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vacation.integration;
+
+import java.time.LocalDate;
+
+//Проверка периода, по которому запрашивается календарь.
+//Период любой длины делится на календарные годы; ограничение числа лет защищает от загрузки
+//сотен календарей одним запросом
+public final class CalendarPeriods {
+    public static final int MAX_PERIOD_YEARS = 100;
+
+    private CalendarPeriods() {
+    }
+
+    public static void validate(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Даты не могут быть null");
+        }
+
+        if (!startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Дата начала не может быть позже даты конца");
+        }
+
+        if (exceedsMaxYears(startDate.getYear(), endDate.getYear())) {
+            throw new IllegalArgumentException(String.format("Период не может охватывать больше %d лет (запрошено: %d)",
+                    MAX_PERIOD_YEARS, endDate.getYear() - startDate.getYear() + 1));
+        }
+    }
+
+    //Годы с firstYear по lastYear включительно не укладываются в ограничение
+    public static boolean exceedsMaxYears(int firstYear, int lastYear) {
+        return lastYear - firstYear + 1 > MAX_PERIOD_YEARS;
+    }
+}
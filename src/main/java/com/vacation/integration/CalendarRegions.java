@@ -0,0 +1,27 @@
+package com.vacation.integration;
+
+import java.util.Locale;
+
+/**
+ * Коды регионов календаря: код страны ISO 3166-1 alpha-2 (ru, by, kz) и
+ * необязательный код региона внутри страны через дефис (ru-ta).
+ */
+public final class CalendarRegions {
+    public static final String DEFAULT_REGION = "ru";
+
+    private CalendarRegions() {
+    }
+
+    //Регион не указан - используется календарь РФ
+    public static String normalize(String region) {
+        if (region == null || region.isBlank()) {
+            return DEFAULT_REGION;
+        }
+        return region.strip().toLowerCase(Locale.ROOT);
+    }
+
+    public static String countryOf(String region) {
+        int separator = region.indexOf('-');
+        return separator < 0 ? region : region.substring(0, separator);
+    }
+}
@@ -0,0 +1,156 @@
+package com.vacation.integration;
+
+import com.vacation.config.CalendarSnapshotProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Снимок производственных календарей на диске, позволяющий стартовать без обращения к API.
+ * Формат файла: MAGIC, версия формата, число календарей и для каждого регион (UTF)
+ * и календарь в формате {@link CalendarYearCodec}.
+ */
+@Component
+public class CalendarSnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(CalendarSnapshotStore.class);
+
+    private static final int MAGIC = 0x56434331;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final boolean enabled;
+    private final Path path;
+    private final String bundledResource;
+
+    private final Map<CalendarKey, CalendarYear> calendars = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public CalendarSnapshotStore(CalendarSnapshotProperties properties) {
+        this(properties.isEnabled(), Path.of(properties.getPath()), properties.getBundledResource());
+    }
+
+    private CalendarSnapshotStore(boolean enabled, Path path, String bundledResource) {
+        this.enabled = enabled;
+        this.path = path;
+        this.bundledResource = bundledResource;
+    }
+
+    public static CalendarSnapshotStore disabled() {
+        return new CalendarSnapshotStore(false, null, null);
+    }
+
+    //Календари из поставляемого снимка, перекрытые сохраненными на диске
+    public Collection<CalendarYear> load() {
+        if (!enabled) {
+            return List.of();
+        }
+        lock.lock();
+        try {
+            ClassPathResource resource = new ClassPathResource(bundledResource);
+            if (resource.exists()) {
+                try (InputStream input = resource.getInputStream()) {
+                    readSnapshot(input).forEach(calendarYear -> calendars.put(CalendarKey.of(calendarYear), calendarYear));
+                } catch (IOException e) {
+                    log.warn("Не удалось прочитать поставляемый снимок календаря {}", bundledResource, e);
+                }
+            }
+            if (Files.exists(path)) {
+                try (InputStream input = Files.newInputStream(path)) {
+                    readSnapshot(input).forEach(calendarYear -> calendars.put(CalendarKey.of(calendarYear), calendarYear));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Не удалось прочитать снимок календаря {}", path, e);
+                }
+            }
+            log.info("Из снимка загружено календарей: {}", calendars.size());
+            return new ArrayList<>(calendars.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Последний сохраненный календарь региона на год, если он есть в снимке
+    public Optional<CalendarYear> find(String region, int year) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            return Optional.ofNullable(calendars.get(new CalendarKey(region, year)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void save(CalendarYear calendarYear) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            calendars.put(CalendarKey.of(calendarYear), calendarYear);
+            writeSnapshot();
+        } catch (IOException e) {
+            log.warn("Не удалось сохранить снимок календаря {}", path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<CalendarYear> readSnapshot(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Файл не является снимком календаря");
+        }
+        byte version = input.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format("Неподдерживаемая версия снимка календаря: %d", version));
+        }
+        int count = input.readInt();
+        List<CalendarYear> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String region = input.readUTF();
+            result.add(CalendarYearCodec.read(input, region));
+        }
+        return result;
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        //Пишем во временный файл и атомарно подменяем, чтобы не оставить снимок недописанным
+        Path tempFile = Files.createTempFile(directory, "calendar-snapshot", ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeByte(FORMAT_VERSION);
+                output.writeInt(calendars.size());
+                for (CalendarYear calendarYear : calendars.values()) {
+                    output.writeUTF(calendarYear.getRegion());
+                    CalendarYearCodec.write(output, calendarYear);
+                }
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.vacation.integration;
+
+import com.vacation.config.CalendarWarmUpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Прогрев календарей прошлого, текущего и следующего года после старта и их ночное обновление.
+ * Пока прогрев не завершен, состояние готовности приложения - REFUSING_TRAFFIC, чтобы балансировщик
+ * не направлял запросы на холодный экземпляр. Меняется только проверка readiness: общий статус /actuator/health
+ * и liveness от прогрева не зависят, индикатор здоровья лишь показывает прогретые годы.
+ */
+@Component
+public class CalendarWarmUp implements HealthIndicator {
+    private static final Logger log = LoggerFactory.getLogger(CalendarWarmUp.class);
+
+    private final HolidayCalendarProvider calendarProvider;
+    private final CalendarWarmUpProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    private volatile boolean warm;
+    private volatile List<CalendarKey> warmedYears = List.of();
+    private volatile List<CalendarKey> failedYears = List.of();
+
+    @Autowired
+    public CalendarWarmUp(HolidayCalendarProvider calendarProvider, CalendarWarmUpProperties properties,
+                          ApplicationEventPublisher eventPublisher) {
+        this(calendarProvider, properties, eventPublisher, Clock.systemDefaultZone());
+    }
+
+    public CalendarWarmUp(HolidayCalendarProvider calendarProvider, CalendarWarmUpProperties properties,
+                          ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.calendarProvider = calendarProvider;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.warm = !properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp();
+    }
+
+    //Spring Boot объявляет готовность сразу после старта; до конца прогрева она заменяется на REFUSING_TRAFFIC
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !warm) {
+            publishReadiness();
+        }
+    }
+
+    //Загрузка всех лет окна; готовность выставляется, когда каждый год загружен или не удалось его загрузить
+    public CompletableFuture<Void> warmUp() {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CalendarKey> keys = currentKeys();
+        preload(keys);
+        List<CalendarKey> failed = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] loads = keys.stream()
+                .map(key -> load(key).exceptionally(e -> {
+                    failed.add(key);
+                    log.warn("Не удалось прогреть календарь {} на {} год: {}", key.region(), key.year(), e.getMessage());
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(loads)
+                .orTimeout(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        log.warn("Прогрев календарей не завершился за {}, оставшиеся годы загрузятся по запросу", properties.getTimeout());
+                    }
+                    warmedYears = keys;
+                    failedYears = List.copyOf(failed);
+                    warm = true;
+                    log.info("Прогрев календарей завершен: {}, с ошибкой: {}", keys, failedYears);
+                    publishReadiness();
+                    return null;
+                });
+    }
+
+    //Обновление в фоне: запросы до окончания загрузки получают прежний календарь
+    @Scheduled(cron = "${calendar.warm-up.refresh-cron:0 0 3 * * *}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (CalendarKey key : currentKeys()) {
+            try {
+                calendarProvider.refresh(key.region(), key.year());
+            } catch (RuntimeException e) {
+                log.warn("Не удалось обновить календарь {} на {} год: {}", key.region(), key.year(), e.getMessage());
+            }
+        }
+    }
+
+    //Готовность публикуется под блокировкой, чтобы конец прогрева не обогнал REFUSING_TRAFFIC и не оставил его последним
+    private synchronized void publishReadiness() {
+        AvailabilityChangeEvent.publish(eventPublisher, this, warm ? ReadinessState.ACCEPTING_TRAFFIC : ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    //Всегда UP: незавершенный прогрев влияет только на готовность, а не на общий статус приложения
+    @Override
+    public Health health() {
+        if (!warm) {
+            return Health.up().withDetail("warmUp", "in progress").build();
+        }
+        return Health.up()
+                .withDetail("warmUp", "done")
+                .withDetail("years", warmedYears.stream().map(CalendarWarmUp::describe).toList())
+                .withDetail("failed", failedYears.stream().map(CalendarWarmUp::describe).toList())
+                .build();
+    }
+
+    //Годы, уже загруженные другими репликами, берутся из общего кэша одним обращением на регион
+    private void preload(List<CalendarKey> keys) {
+        Map<String, List<Integer>> yearsByRegion = keys.stream().collect(Collectors.groupingBy(CalendarKey::region,
+                LinkedHashMap::new, Collectors.mapping(CalendarKey::year, Collectors.toList())));
+        yearsByRegion.forEach((region, years) -> {
+            try {
+                calendarProvider.preload(region, years);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось получить календари {} из общего кэша: {}", region, e.getMessage());
+            }
+        });
+    }
+
+    private CompletableFuture<CalendarYear> load(CalendarKey key) {
+        try {
+            return calendarProvider.getCalendarYearAsync(key.region(), key.year());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<CalendarKey> currentKeys() {
+        int currentYear = LocalDate.now(clock).getYear();
+        List<CalendarKey> keys = new ArrayList<>();
+        for (String region : properties.getRegions()) {
+            for (int year = currentYear - properties.getYearsBefore(); year <= currentYear + properties.getYearsAfter(); year++) {
+                keys.add(new CalendarKey(CalendarRegions.normalize(region), year));
+            }
+        }
+        return keys;
+    }
+
+    private static String describe(CalendarKey key) {
+        return key.region() + "/" + key.year();
+    }
+}
@@ -0,0 +1,161 @@
+package com.vacation.integration;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Производственный календарь на один год в компактном виде.
+ * Статус каждого дня хранится одним байтом, оплачиваемые дни - битовой маской
+ * с префиксными суммами по словам, поэтому подсчет оплачиваемых дней в любом
+ * периоде выполняется за O(1).
+ * Приближенный календарь (только выходные, без праздников) строится, когда
+ * настоящий календарь получить не удалось.
+ */
+public final class CalendarYear {
+    private static final DayStatus[] STATUSES = DayStatus.values();
+
+    private final String region;
+    private final int year;
+    private final int size;
+    private final byte[] statuses;
+    private final long[] paidBits;
+    private final int[] paidPrefix;
+    private final boolean approximate;
+    private final long fingerprint;
+
+    public CalendarYear(int year, DayStatus[] days) {
+        this(CalendarRegions.DEFAULT_REGION, year, days);
+    }
+
+    public CalendarYear(String region, int year, DayStatus[] days) {
+        this(region, year, toOrdinals(days), days.length);
+    }
+
+    CalendarYear(String region, int year, byte[] statuses, int size) {
+        this(region, year, statuses, size, false);
+    }
+
+    private CalendarYear(String region, int year, byte[] statuses, int size, boolean approximate) {
+        if (size > Year.of(year).length()) {
+            throw new IllegalArgumentException(String.format("В %d году не может быть %d дней", year, size));
+        }
+        this.region = region;
+        this.year = year;
+        this.size = size;
+        this.statuses = statuses.length == size ? statuses : Arrays.copyOf(statuses, size);
+        this.approximate = approximate;
+
+        int words = (size + Long.SIZE - 1) / Long.SIZE;
+        this.paidBits = new long[words];
+        this.paidPrefix = new int[words + 1];
+        for (int day = 0; day < size; day++) {
+            if (STATUSES[this.statuses[day]].isPaidDay()) {
+                paidBits[day >>> 6] |= 1L << day;
+            }
+        }
+        for (int word = 0; word < words; word++) {
+            paidPrefix[word + 1] = paidPrefix[word] + Long.bitCount(paidBits[word]);
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(this.statuses, 0, size);
+        this.fingerprint = checksum.getValue() << 1 | (approximate ? 1 : 0);
+    }
+
+    public static CalendarYear weekendsOnly(int year) {
+        return weekendsOnly(CalendarRegions.DEFAULT_REGION, year);
+    }
+
+    //Суббота и воскресенье нерабочие, остальные дни рабочие
+    public static CalendarYear weekendsOnly(String region, int year) {
+        byte[] statuses = new byte[Year.of(year).length()];
+        LocalDate date = LocalDate.of(year, 1, 1);
+        for (int day = 0; day < statuses.length; day++, date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            DayStatus status = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY
+                    ? DayStatus.NON_WORKING_DAY : DayStatus.WORKING_DAY;
+            statuses[day] = (byte) status.ordinal();
+        }
+        return new CalendarYear(region, year, statuses, statuses.length, true);
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    //Отпечаток данных года: одинаков для одинаковых календарей и меняется при любом изменении статусов дней
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    //Количество дней года, по которым есть данные
+    public int size() {
+        return size;
+    }
+
+    byte[] statuses() {
+        return statuses;
+    }
+
+    public boolean contains(LocalDate date) {
+        return date.getYear() == year && date.getDayOfYear() <= size;
+    }
+
+    public DayStatus getStatus(LocalDate date) {
+        if (!contains(date)) {
+            return null;
+        }
+        return STATUSES[statuses[date.getDayOfYear() - 1]];
+    }
+
+    public int countPaidDays() {
+        return paidPrefix[paidPrefix.length - 1];
+    }
+
+    //Количество оплачиваемых дней в пересечении периода (включительно) с этим годом
+    public int countPaidDays(LocalDate startDate, LocalDate endDate) {
+        if (startDate.getYear() > year || endDate.getYear() < year) {
+            return 0;
+        }
+        int from = startDate.getYear() < year ? 0 : startDate.getDayOfYear() - 1;
+        int to = endDate.getYear() > year ? size : Math.min(endDate.getDayOfYear(), size);
+        if (from >= to) {
+            return 0;
+        }
+        return paidBefore(to) - paidBefore(from);
+    }
+
+    private int paidBefore(int day) {
+        int word = day >>> 6;
+        int count = paidPrefix[word];
+        int bit = day & (Long.SIZE - 1);
+        if (bit != 0) {
+            count += Long.bitCount(paidBits[word] & ((1L << bit) - 1));
+        }
+        return count;
+    }
+
+    private static byte[] toOrdinals(DayStatus[] days) {
+        byte[] result = new byte[days.length];
+        for (int i = 0; i < days.length; i++) {
+            result[i] = (byte) days[i].ordinal();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d: %d дней, %d оплачиваемых%s", region, year, size, countPaidDays(), approximate ? " (приближенный)" : "");
+    }
+}
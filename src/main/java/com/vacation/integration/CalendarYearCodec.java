@@ -0,0 +1,41 @@
+package com.vacation.integration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.DateTimeException;
+
+/**
+ * Бинарное представление календаря: год, число дней и по байту на статус дня.
+ * Регион в запись не входит и хранится вызывающей стороной.
+ */
+public final class CalendarYearCodec {
+    private static final int STATUS_COUNT = DayStatus.values().length;
+
+    private CalendarYearCodec() {
+    }
+
+    public static void write(DataOutput output, CalendarYear calendarYear) throws IOException {
+        output.writeInt(calendarYear.getYear());
+        output.writeShort(calendarYear.size());
+        output.write(calendarYear.statuses(), 0, calendarYear.size());
+    }
+
+    public static CalendarYear read(DataInput input, String region) throws IOException {
+        int year = input.readInt();
+        int size = input.readUnsignedShort();
+        byte[] statuses = new byte[size];
+        input.readFully(statuses);
+        for (byte status : statuses) {
+            if (status < 0 || status >= STATUS_COUNT) {
+                throw new IOException(String.format("Некорректный статус дня %d в календаре на %d год", status, year));
+            }
+        }
+        //Год вне допустимого диапазона или больше дней, чем в году: запись повреждена, как и при неизвестном статусе
+        try {
+            return new CalendarYear(region, year, statuses, size);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IOException(String.format("Некорректный календарь на %d год: %s", year, e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.vacation.integration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Предохранитель для вызовов внешнего API.
+ * После failureThreshold ошибок подряд переходит в OPEN и сразу отказывает в вызовах;
+ * по истечении openDuration пропускает один пробный вызов (HALF_OPEN), успех которого
+ * замыкает цепь, а ошибка снова размыкает ее.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInProgress;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Порог ошибок должен быть больше 0");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    //true, если вызов разрешен; после разрешенного вызова нужно сообщить onSuccess, onFailure или release
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+                state = State.HALF_OPEN;
+                trialInProgress = false;
+            }
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (trialInProgress) {
+                        yield false;
+                    }
+                    trialInProgress = true;
+                    yield true;
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInProgress = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = clock.instant();
+                trialInProgress = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Вызов завершился ошибкой, не связанной с доступностью API: состояние и счетчик ошибок не меняются,
+    //а пробный вызов в HALF_OPEN освобождается для следующего запроса
+    public void release() {
+        lock.lock();
+        try {
+            trialInProgress = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.vacation.integration;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Календарь из локальных правил, если они есть для региона на нужный год, иначе из isdayoff.ru.
+ */
+@Primary
+@Component
+public class CompositeCalendarProvider implements HolidayCalendarProvider {
+    private final RuleBasedCalendarProvider localProvider;
+    private final HolidayCalendarProvider remoteProvider;
+
+    public CompositeCalendarProvider(RuleBasedCalendarProvider localProvider, IsDayOffClient remoteProvider) {
+        this.localProvider = localProvider;
+        this.remoteProvider = remoteProvider;
+    }
+
+    @Override
+    public CompletableFuture<CalendarYear> getCalendarYearAsync(String region, int year) {
+        return localProvider.supports(region, year)
+                ? localProvider.getCalendarYearAsync(region, year)
+                : remoteProvider.getCalendarYearAsync(region, year);
+    }
+
+    @Override
+    public CompletableFuture<CalendarYear> getCalendarYearOrFallbackAsync(String region, int year) {
+        return localProvider.supports(region, year)
+                ? localProvider.getCalendarYearAsync(region, year)
+                : remoteProvider.getCalendarYearOrFallbackAsync(region, year);
+    }
+
+    //Локальные правила не устаревают, обновлять нужно только годы из isdayoff.ru
+    @Override
+    public void refresh(String region, int year) {
+        if (!localProvider.supports(region, year)) {
+            remoteProvider.refresh(region, year);
+        }
+    }
+
+    @Override
+    public void preload(String region, Collection<Integer> years) {
+        List<Integer> remoteYears = years.stream().filter(year -> !localProvider.supports(region, year)).toList();
+        if (!remoteYears.isEmpty()) {
+            remoteProvider.preload(region, remoteYears);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.vacation.integration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Источник производственного календаря. Реализация отдает календарь региона на целый год,
+ * подсчет оплачиваемых дней за период строится поверх годовых календарей.
+ * Методы без региона используют календарь {@link CalendarRegions#DEFAULT_REGION}.
+ */
+public interface HolidayCalendarProvider {
+
+    //Календарь года; future завершается исключением, если данных нет
+    CompletableFuture<CalendarYear> getCalendarYearAsync(String region, int year);
+
+    //Календарь года с запасным вариантом на случай недоступности источника
+    default CompletableFuture<CalendarYear> getCalendarYearOrFallbackAsync(String region, int year) {
+        return getCalendarYearAsync(region, year);
+    }
+
+    //Фоновое обновление года; источники без кэша ничего не делают
+    default void refresh(String region, int year) {
+    }
+
+    //Загрузка нескольких лет одним обращением к общему кэшу реплик; источники без него ничего не делают
+    default void preload(String region, Collection<Integer> years) {
+    }
+
+    default CompletableFuture<CalendarYear> getCalendarYearAsync(int year) {
+        return getCalendarYearAsync(CalendarRegions.DEFAULT_REGION, year);
+    }
+
+    default CompletableFuture<CalendarYear> getCalendarYearOrFallbackAsync(int year) {
+        return getCalendarYearOrFallbackAsync(CalendarRegions.DEFAULT_REGION, year);
+    }
+
+    default CalendarYear getCalendarYear(String region, int year) {
+        return CalendarCache.join(getCalendarYearAsync(region, year));
+    }
+
+    default CalendarYear getCalendarYear(int year) {
+        return getCalendarYear(CalendarRegions.DEFAULT_REGION, year);
+    }
+
+    default int countPaidDays(LocalDate startDate, LocalDate endDate) {
+        return countPaidDays(CalendarRegions.DEFAULT_REGION, startDate, endDate);
+    }
+
+    default int countPaidDays(String region, LocalDate startDate, LocalDate endDate) {
+        CalendarPeriods.validate(startDate, endDate);
+
+        int paidDays = 0;
+        for (CompletableFuture<CalendarYear> calendarYear : requestYears(startDate, endDate, year -> getCalendarYearAsync(region, year))) {
+            paidDays += CalendarCache.join(calendarYear).countPaidDays(startDate, endDate);
+        }
+        return paidDays;
+    }
+
+    default CompletableFuture<PaidDaysCount> countPaidDaysAsync(LocalDate startDate, LocalDate endDate) {
+        return countPaidDaysAsync(CalendarRegions.DEFAULT_REGION, startDate, endDate);
+    }
+
+    //Не блокирует вызывающий поток: результат будет готов, когда загрузятся все нужные годы
+    default CompletableFuture<PaidDaysCount> countPaidDaysAsync(String region, LocalDate startDate, LocalDate endDate) {
+        CalendarPeriods.validate(startDate, endDate);
+
+        List<CompletableFuture<CalendarYear>> calendarYears = requestYears(startDate, endDate,
+                year -> getCalendarYearOrFallbackAsync(region, year));
+        return CompletableFuture.allOf(calendarYears.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            int paidDays = 0;
+            boolean approximate = false;
+            long calendarVersion = 1;
+            for (CompletableFuture<CalendarYear> future : calendarYears) {
+                CalendarYear calendarYear = future.join();
+                paidDays += calendarYear.countPaidDays(startDate, endDate);
+                approximate |= calendarYear.isApproximate();
+                calendarVersion = 31 * calendarVersion + calendarYear.fingerprint();
+            }
+            return new PaidDaysCount(paidDays, approximate, calendarVersion);
+        });
+    }
+
+    //Все годы периода запрашиваются сразу, чтобы недостающие загружались параллельно
+    private static List<CompletableFuture<CalendarYear>> requestYears(LocalDate startDate, LocalDate endDate,
+                                                                      IntFunction<CompletableFuture<CalendarYear>> request) {
+        List<CompletableFuture<CalendarYear>> calendarYears = new ArrayList<>();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            calendarYears.add(request.apply(year));
+        }
+        return calendarYears;
+    }
+}
@@ -0,0 +1,54 @@
+package com.vacation.integration;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Общий кэш в памяти процесса для тестов и локального запуска.
+ * Хранит те же байты, что и Redis, поэтому проверяет кодирование записей и их устаревание.
+ */
+public class InMemorySharedCalendarCache implements SharedCalendarCache {
+
+    private final Map<CalendarKey, byte[]> entries = new ConcurrentHashMap<>();
+    private final Duration maxAge;
+    private final Clock clock;
+
+    public InMemorySharedCalendarCache(Duration maxAge) {
+        this(maxAge, Clock.systemUTC());
+    }
+
+    public InMemorySharedCalendarCache(Duration maxAge, Clock clock) {
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    @Override
+    public Map<Integer, CalendarYear> getAll(String country, Collection<Integer> years) {
+        Map<Integer, CalendarYear> result = new HashMap<>();
+        for (int year : years) {
+            byte[] bytes = entries.get(new CalendarKey(country, year));
+            if (bytes == null) {
+                continue;
+            }
+            try {
+                SharedCalendarEntry entry = SharedCalendarEntry.decode(bytes, country);
+                if (entry.isFresh(clock.instant(), maxAge)) {
+                    result.put(year, entry.calendarYear());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                //Запись другой версии формата или поврежденная запись считается отсутствующей
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(CalendarYear calendarYear) {
+        entries.put(CalendarKey.of(calendarYear), new SharedCalendarEntry(calendarYear, clock.instant()).encode());
+    }
+}
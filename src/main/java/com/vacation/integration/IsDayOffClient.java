@@ -1,125 +1,415 @@
 package com.vacation.integration;
 
+import com.vacation.config.IsDayOffProperties;
+import com.vacation.exception.CalendarUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 
-@Component
-public class IsDayOffClient {
+public class IsDayOffClient implements HolidayCalendarProvider {
     private static final Logger log = LoggerFactory.getLogger(IsDayOffClient.class);
 
-    private static final String API_URL = "https://isdayoff.ru/api/getdata";
     private static final String DELIMITER = "%0A";
-    private static final int MAX_PERIOD_DAYS = 366;
 
-    private final Map<String, Map<LocalDate, DayInfo>> cache = new ConcurrentHashMap<>();
+    //Кэши создаются лениво для стран, календари которых действительно запрашивались
+    private final Map<String, CalendarCache> caches = new ConcurrentHashMap<>();
+    private final CalendarCacheFactory cacheFactory;
 
     private final RestTemplate restTemplate;
+    private final IsDayOffProperties properties;
 
-    public IsDayOffClient(RestTemplate restTemplate) {
+    private final CalendarSnapshotStore snapshotStore;
+    //Общий для реплик второй уровень: промах первого уровня сначала ищется здесь и только потом в API
+    private final SharedCalendarCache sharedCache;
+
+    private final SingleFlight<CalendarKey, CalendarYear> inFlightFetches = new SingleFlight<>();
+    private final Executor fetchExecutor;
+    //Ограничение одновременных обращений к isdayoff.ru независимо от числа потоков запросов
+    private final Semaphore upstreamPermits;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter malformedTokensCounter;
+    private final Counter ignoredDaysCounter;
+
+    //Создается в RestTemplateConfig: исполнитель загрузок зависит от spring.threads.virtual.enabled и закрывается вместе с клиентом
+    public IsDayOffClient(RestTemplate restTemplate, IsDayOffProperties properties, CalendarCacheFactory cacheFactory,
+                          CalendarSnapshotStore snapshotStore, SharedCalendarCache sharedCache, Executor fetchExecutor,
+                          MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.properties = properties;
+        this.snapshotStore = snapshotStore;
+        this.sharedCache = sharedCache;
+        this.fetchExecutor = fetchExecutor;
+        this.upstreamPermits = new Semaphore(properties.getMaxConcurrentRequests(), true);
+        this.retryPolicy = new RetryPolicy(properties.getRetry().getMaxAttempts(),
+                properties.getRetry().getInitialBackoff(), properties.getRetry().getMaxBackoff());
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration());
+        this.cacheFactory = cacheFactory;
+        this.meterRegistry = meterRegistry;
+        this.malformedTokensCounter = parseWarningsCounter("malformed_token");
+        this.ignoredDaysCounter = parseWarningsCounter("extra_day");
+
+        //0 - замкнут, 1 - разомкнут, 2 - пробный вызов
+        Gauge.builder("calendar.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Состояние предохранителя isdayoff.ru")
+                .register(meterRegistry);
+        Gauge.builder("calendar.upstream.permits.available", upstreamPermits, Semaphore::availablePermits)
+                .description("Свободные слоты одновременных запросов к isdayoff.ru")
+                .register(meterRegistry);
+
+        //Годы из снимка доступны сразу, API понадобится только для их обновления
+        snapshotStore.load().forEach(calendarYear -> cacheFor(calendarYear.getRegion()).put(calendarYear));
     }
 
     public Map<LocalDate, DayInfo> getDaysInfo(LocalDate startDate, LocalDate endDate) {
-        String cacheKey = String.format("%s%s", startDate, endDate);
-        return cache.computeIfAbsent(cacheKey, k -> fetchFromApi(startDate, endDate));
+        return getDaysInfo(CalendarRegions.DEFAULT_REGION, startDate, endDate);
     }
 
-    public static int getMaxPeriodDays() {
-        return MAX_PERIOD_DAYS;
+    public Map<LocalDate, DayInfo> getDaysInfo(String region, LocalDate startDate, LocalDate endDate) {
+        CalendarPeriods.validate(startDate, endDate);
+
+        //Все годы запрашиваются сразу, недостающие загружаются параллельно
+        List<CompletableFuture<CalendarYear>> calendarYears = new ArrayList<>();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            calendarYears.add(getCalendarYearAsync(region, year));
+        }
+
+        Map<LocalDate, DayInfo> result = new LinkedHashMap<>();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            //Календарь кэшируется целым годом, из него вырезается запрошенный период
+            CalendarYear calendarYear = CalendarCache.join(calendarYears.get(year - startDate.getYear()));
+
+            LocalDate from = year == startDate.getYear() ? startDate : LocalDate.of(year, 1, 1);
+            LocalDate to = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+            for (LocalDate date = from; !date.isAfter(to) && calendarYear.contains(date); date = date.plusDays(1)) {
+                result.put(date, new DayInfo(date, calendarYear.getStatus(date)));
+            }
+        }
+        return result;
     }
 
-    private @NotNull Map<LocalDate, DayInfo> fetchFromApi(LocalDate startDate, LocalDate endDate) {
-        validatePeriod(startDate, endDate);
+    //isdayoff.ru знает только календари стран, поэтому регион сводится к своей стране
+    @Override
+    public CompletableFuture<CalendarYear> getCalendarYearAsync(String region, int year) {
+        return cacheFor(supportedCountry(region)).getAsync(year);
+    }
 
-        log.info("Запрос информации о днях с {} по {}", startDate, endDate);
-        try {
-            String response = callApi(startDate, endDate);
+    //Календарь года, а при недоступности API - последний сохраненный или приближенный (только выходные)
+    @Override
+    public CompletableFuture<CalendarYear> getCalendarYearOrFallbackAsync(String region, int year) {
+        String country = supportedCountry(region);
+        CompletableFuture<CalendarYear> calendarYear = cacheFor(country).getAsync(year);
+        if (!properties.isFallbackEnabled()) {
+            return calendarYear;
+        }
+        return calendarYear.exceptionally(e -> fallbackCalendarYear(country, year, e));
+    }
 
-            Map<LocalDate, DayInfo> result = parseResponse(startDate, response);
+    //Год перезагружается в фоне, до окончания загрузки запросы получают прежний календарь
+    @Override
+    public void refresh(String region, int year) {
+        cacheFor(supportedCountry(region)).refresh(year);
+    }
 
-            log.info("Получена информация о {} днях ", result.size());
-            return result;
-        } catch (RestClientException e) {
-            log.error("Ошибка при вызове API isdayoff.ru", e);
-            throw new RuntimeException("Не удалось получить информацию о праздничных днях и выходных");
+    //Годы, уже загруженные другими репликами, переносятся в кэш одним обращением к общему кэшу
+    @Override
+    public void preload(String region, Collection<Integer> years) {
+        if (!sharedCache.isEnabled() || years.isEmpty()) {
+            return;
         }
+        String country = supportedCountry(region);
+        Map<Integer, CalendarYear> shared = sharedCache.getAll(country, years);
+        CalendarCache cache = cacheFor(country);
+        shared.values().forEach(cache::put);
+        countSharedGets(country, shared.size(), years.size() - shared.size());
+        log.info("Из общего кэша получены календари {} на {} годы", country, shared.keySet());
     }
 
-    public int countPaidDays(LocalDate startDate, LocalDate endDate) {
-        return Math.toIntExact(getDaysInfo(startDate, endDate).values().stream().filter(DayInfo::isPaidDay).count());
+    //Суммарная статистика кэшей всех стран
+    public CalendarCacheStats getCacheStats() {
+        long hitCount = 0;
+        long missCount = 0;
+        long evictionCount = 0;
+        long loadSuccessCount = 0;
+        long loadFailureCount = 0;
+        for (CalendarCache cache : caches.values()) {
+            CalendarCacheStats stats = cache.stats();
+            hitCount += stats.hitCount();
+            missCount += stats.missCount();
+            evictionCount += stats.evictionCount();
+            loadSuccessCount += stats.loadSuccessCount();
+            loadFailureCount += stats.loadFailureCount();
+        }
+        return new CalendarCacheStats(hitCount, missCount, evictionCount, loadSuccessCount, loadFailureCount);
     }
 
-    private Map<LocalDate, DayInfo> parseResponse(LocalDate startDate, String response) {
-        if (response == null || response.trim().isEmpty()) {
-            throw new RuntimeException("Пустой ответ от API");
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    public static int getMaxPeriodYears() {
+        return CalendarPeriods.MAX_PERIOD_YEARS;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fetchExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
         }
-        Map<LocalDate, DayInfo> result = new LinkedHashMap<>();
+    }
 
-        String[] lines = response.split(DELIMITER);
+    private CalendarCache cacheFor(String country) {
+        return caches.computeIfAbsent(country, this::createCache);
+    }
 
-        LocalDate date = startDate;
+    private CalendarCache createCache(String country) {
+        CalendarCache cache = cacheFactory.create(year -> fetchAsync(country, year));
+        bindCacheMetrics(country, cache);
+        return cache;
+    }
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) {
-                continue;
-            }
+    //Счетчики читают статистику кэша в момент сбора метрик, на пути запроса ничего не считается
+    private void bindCacheMetrics(String country, CalendarCache cache) {
+        FunctionCounter.builder("calendar.cache.gets", cache, c -> c.stats().hitCount())
+                .tag("country", country).tag("result", "hit")
+                .description("Обращения к кэшу календаря")
+                .register(meterRegistry);
+        FunctionCounter.builder("calendar.cache.gets", cache, c -> c.stats().missCount())
+                .tag("country", country).tag("result", "miss")
+                .description("Обращения к кэшу календаря")
+                .register(meterRegistry);
+        FunctionCounter.builder("calendar.cache.evictions", cache, c -> c.stats().evictionCount())
+                .tag("country", country)
+                .description("Вытесненные из кэша годы")
+                .register(meterRegistry);
+        FunctionCounter.builder("calendar.cache.loads", cache, c -> c.stats().loadSuccessCount())
+                .tag("country", country).tag("result", "success")
+                .description("Загрузки календаря в кэш")
+                .register(meterRegistry);
+        FunctionCounter.builder("calendar.cache.loads", cache, c -> c.stats().loadFailureCount())
+                .tag("country", country).tag("result", "failure")
+                .description("Загрузки календаря в кэш")
+                .register(meterRegistry);
+        Gauge.builder("calendar.cache.size", cache, CalendarCache::size)
+                .tag("country", country)
+                .description("Количество лет в кэше")
+                .register(meterRegistry);
+    }
 
-            try {
-                int statusCode = Integer.parseInt(line);
-                DayStatus status = DayStatus.fromCode(statusCode);
-                DayInfo dayInfo = new DayInfo(date, status);
+    private Counter parseWarningsCounter(String type) {
+        return Counter.builder("calendar.upstream.parse.warnings")
+                .tag("type", type)
+                .description("Пропущенные значения в ответах isdayoff.ru")
+                .register(meterRegistry);
+    }
+
+    private void countSharedGets(String country, int hits, int misses) {
+        meterRegistry.counter("calendar.shared-cache.gets", "country", country, "result", "hit").increment(hits);
+        meterRegistry.counter("calendar.shared-cache.gets", "country", country, "result", "miss").increment(misses);
+    }
+
+    private void countUpstreamError(String country, String reason) {
+        meterRegistry.counter("calendar.upstream.errors", "country", country, "reason", reason).increment();
+    }
+
+    private String supportedCountry(String region) {
+        String country = CalendarRegions.countryOf(CalendarRegions.normalize(region));
+        if (!properties.getSupportedCountries().contains(country)) {
+            throw new IllegalArgumentException(String.format("Календарь страны %s не поддерживается", country));
+        }
+        return country;
+    }
+
+    //Все одновременные запросы одного года разделяют один вызов API, выполняемый вне блокировок кэша
+    private CompletableFuture<CalendarYear> fetchAsync(String country, int year) {
+        return inFlightFetches.execute(new CalendarKey(country, year), () -> fetchShared(country, year), fetchExecutor);
+    }
 
-                result.put(date, dayInfo);
-                date = date.plusDays(1);
-            } catch (NumberFormatException e) {
-                log.warn("Некорректный формат строки в ответе API:{}", line);
+    //Год из общего кэша сохраняется и в снимок, чтобы реплика пережила перезапуск и без Redis;
+    //снимок перезаписывается, только если календарь отличается от сохраненного
+    private CalendarYear fetchShared(String country, int year) {
+        if (!sharedCache.isEnabled()) {
+            return fetchFromApi(country, year);
+        }
+        Optional<CalendarYear> shared = sharedCache.get(country, year);
+        countSharedGets(country, shared.isPresent() ? 1 : 0, shared.isPresent() ? 0 : 1);
+        if (shared.isEmpty()) {
+            return fetchFromApi(country, year);
+        }
+        CalendarYear calendarYear = shared.get();
+        boolean changed = snapshotStore.find(country, year)
+                .map(saved -> saved.fingerprint() != calendarYear.fingerprint())
+                .orElse(true);
+        if (changed) {
+            snapshotStore.save(calendarYear);
+        }
+        return calendarYear;
+    }
+
+    private @NotNull CalendarYear fetchFromApi(String country, int year) {
+        //Пока предохранитель разомкнут, запросы не ждут заведомо неудачного вызова API
+        if (!circuitBreaker.tryAcquire()) {
+            countUpstreamError(country, "circuit_open");
+            throw new CalendarUnavailableException("Сервис производственного календаря временно недоступен");
+        }
+        try {
+            //Повторяются только сетевые ошибки и ответы 5xx, ошибки формата ответа повторять бессмысленно
+            CalendarYear result = retryPolicy.execute(() -> loadFromApi(country, year), IsDayOffClient::isTransportError);
+            circuitBreaker.onSuccess();
+            snapshotStore.save(result);
+            sharedCache.put(result);
+            return result;
+        } catch (RestClientException e) {
+            //Предохранитель размыкают только сбои доступности API; ответ 4xx означает, что API работает
+            if (isTransportError(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.release();
             }
+            countUpstreamError(country, "network");
+            log.error("Ошибка при вызове API isdayoff.ru", e);
+            throw new CalendarUnavailableException("Не удалось получить информацию о праздничных днях и выходных", e);
+        } catch (RuntimeException e) {
+            //Нехватка локальных слотов и коды ошибок API для отдельного года не говорят о недоступности isdayoff.ru
+            circuitBreaker.release();
+            countUpstreamError(country, e instanceof CalendarUnavailableException ? "unavailable" : "invalid_response");
+            throw e;
         }
-        return result;
     }
 
-    private String callApi(LocalDate startDate, LocalDate endDate) {
-        String formattedStartDate = startDate.format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String formattedEndDate = endDate.format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
+    //Сетевая ошибка, таймаут или ответ 5xx
+    private static boolean isTransportError(RuntimeException e) {
+        return e instanceof RestClientException
+                && !(e instanceof HttpStatusCodeException statusError && !statusError.getStatusCode().is5xxServerError());
+    }
 
-        String url = String.format("%s?date1=%s&date2=%s&delimeter=%s", API_URL, formattedStartDate, formattedEndDate, DELIMITER);
+    private CalendarYear loadFromApi(String country, int year) {
+        log.info("Запрос производственного календаря {} на {} год", country, year);
+        byte[] response = callApiWithinLimit(country, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
 
-        log.debug("Вызов Api:{}", url);
+        CalendarYear result = parseResponse(country, year, response);
+
+        log.info("Получена информация о {} днях ", result.size());
+        return result;
+    }
+
+    private CalendarYear fallbackCalendarYear(String country, int year, Throwable cause) {
+        Optional<CalendarYear> lastKnown = snapshotStore.find(country, year);
+        if (lastKnown.isPresent()) {
+            countFallback(country, "snapshot");
+            log.warn("Календарь на {} год недоступен, используется последний сохраненный: {}", year, cause.getMessage());
+            return lastKnown.get();
+        }
+        countFallback(country, "weekends");
+        log.warn("Календарь на {} год недоступен, расчет ведется только по выходным: {}", year, cause.getMessage());
+        return CalendarYear.weekendsOnly(country, year);
+    }
 
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+    private void countFallback(String country, String source) {
+        meterRegistry.counter("calendar.fallbacks", "country", country, "source", source).increment();
+    }
 
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException(String.format("Api вернул статус %s", response.getStatusCode()));
+    private CalendarYear parseResponse(String country, int year, byte[] response) {
+        if (response == null || response.length == 0) {
+            throw new RuntimeException("Пустой ответ от API");
+        }
+        IsDayOffResponseParser.ParseResult result = IsDayOffResponseParser.parse(country, year, response);
+        if (result.hasError()) {
+            //Для кодов ошибок API и неизвестных кодов fromCode выбрасывает соответствующее исключение
+            DayStatus.fromCode(result.errorCode());
         }
-        return response.getBody();
+        if (result.malformedTokens() > 0) {
+            malformedTokensCounter.increment(result.malformedTokens());
+            log.warn("Некорректный формат ответа API: пропущено значений {}", result.malformedTokens());
+        }
+        if (result.ignoredDays() > 0) {
+            ignoredDaysCounter.increment(result.ignoredDays());
+            log.warn("Ответ API содержит больше дней, чем в {} году", year);
+        }
+        if (result.calendarYear().size() == 0) {
+            throw new RuntimeException("Пустой ответ от API");
+        }
+        return result.calendarYear();
     }
 
-    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
-        if (startDate == null || endDate == null) {
-            throw new IllegalArgumentException("Даты не могут быть null");
+    private byte[] callApiWithinLimit(String country, LocalDate startDate, LocalDate endDate) {
+        acquireUpstreamPermit();
+        try {
+            return callApi(country, startDate, endDate);
+        } finally {
+            upstreamPermits.release();
         }
+    }
 
-        if (!startDate.isBefore(endDate)) {
-            throw new IllegalArgumentException("Дата начала не может быть позже даты конца");
+    private void acquireUpstreamPermit() {
+        try {
+            if (!upstreamPermits.tryAcquire(properties.getPermitTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CalendarUnavailableException("Превышено число одновременных запросов к API isdayoff.ru");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CalendarUnavailableException("Ожидание запроса к API isdayoff.ru прервано", e);
         }
+    }
+
+    private byte[] callApi(String country, LocalDate startDate, LocalDate endDate) {
+        String formattedStartDate = startDate.format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String formattedEndDate = endDate.format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+        //holiday=1: праздники приходят кодом 8 (HOLIDAY), как в локальных правилах, а не кодом 1 выходного дня
+        String url = String.format("%s?date1=%s&date2=%s&delimeter=%s&cc=%s&holiday=1", properties.getApiUrl(), formattedStartDate,
+                formattedEndDate, DELIMITER, country);
 
-        long daysBetween = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        if (daysBetween > MAX_PERIOD_DAYS) {
-            throw new IllegalArgumentException(String.format("Период не может превышать %d дней (запрошено: %d)",
-                    MAX_PERIOD_DAYS, daysBetween));
+        log.debug("Вызов Api:{}", url);
+
+        //Время каждой попытки, включая неудачные: по нему видно задержку самого isdayoff.ru
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            ResponseEntity<byte[]> response = restTemplate.getForEntity(url, byte[].class);
+
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new RuntimeException(String.format("Api вернул статус %s", response.getStatusCode()));
+            }
+            return response.getBody();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("calendar.upstream.requests")
+                    .tag("country", country)
+                    .tag("outcome", "none".equals(exception) ? "SUCCESS" : "ERROR")
+                    .tag("exception", exception)
+                    .description("Запросы к API isdayoff.ru")
+                    .register(meterRegistry));
         }
     }
 }
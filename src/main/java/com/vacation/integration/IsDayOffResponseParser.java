@@ -0,0 +1,101 @@
+package com.vacation.integration;
+
+import java.time.Year;
+import java.util.Arrays;
+
+/**
+ * Однопроходный разбор ответа isdayoff.ru прямо из байтов тела.
+ * Коды дней записываются сразу в {@link CalendarYear}, без промежуточных строк,
+ * а ошибки формата возвращаются в результате, а не исключениями.
+ * Разделителем считаются перевод строки, пробельные символы, запятая и
+ * URL-кодированная последовательность вида %0A.
+ */
+public final class IsDayOffResponseParser {
+    public static final int NO_ERROR = -1;
+
+    private static final int MAX_CODE_DIGITS = 3;
+    private static final byte[] CODE_TO_ORDINAL = new byte[DayStatus.HOLIDAY.getCode() + 1];
+
+    static {
+        Arrays.fill(CODE_TO_ORDINAL, (byte) -1);
+        for (DayStatus status : DayStatus.values()) {
+            if (status.getCode() < CODE_TO_ORDINAL.length) {
+                CODE_TO_ORDINAL[status.getCode()] = (byte) status.ordinal();
+            }
+        }
+    }
+
+    private IsDayOffResponseParser() {
+    }
+
+    //errorCode - код ошибки API или неизвестный код дня, на котором разбор остановлен
+    public record ParseResult(CalendarYear calendarYear, int malformedTokens, int ignoredDays, int errorCode) {
+
+        public boolean hasError() {
+            return errorCode != NO_ERROR;
+        }
+    }
+
+    public static ParseResult parse(int year, byte[] body) {
+        return parse(CalendarRegions.DEFAULT_REGION, year, body);
+    }
+
+    public static ParseResult parse(String region, int year, byte[] body) {
+        byte[] statuses = new byte[Year.of(year).length()];
+        int size = 0;
+        int malformedTokens = 0;
+        int ignoredDays = 0;
+
+        int code = 0;
+        int digits = 0;
+        boolean malformed = false;
+
+        int length = body.length;
+        for (int i = 0; i <= length; i++) {
+            boolean separator;
+            if (i == length) {
+                separator = true;
+            } else {
+                byte b = body[i];
+                if (b >= '0' && b <= '9') {
+                    if (digits < MAX_CODE_DIGITS) {
+                        code = code * 10 + (b - '0');
+                    } else {
+                        malformed = true;
+                    }
+                    digits++;
+                    continue;
+                }
+                if (b == '%' && i + 2 < length) {
+                    //URL-кодированный разделитель, например %0A
+                    i += 2;
+                    separator = true;
+                } else {
+                    separator = b == '\n' || b == '\r' || b == ' ' || b == '\t' || b == ',';
+                }
+                if (!separator) {
+                    malformed = true;
+                    continue;
+                }
+            }
+
+            if (malformed) {
+                malformedTokens++;
+            } else if (digits > 0) {
+                int ordinal = code < CODE_TO_ORDINAL.length ? CODE_TO_ORDINAL[code] : -1;
+                if (ordinal < 0) {
+                    return new ParseResult(new CalendarYear(region, year, statuses, size), malformedTokens, ignoredDays, code);
+                }
+                if (size == statuses.length) {
+                    ignoredDays++;
+                } else {
+                    statuses[size++] = (byte) ordinal;
+                }
+            }
+            code = 0;
+            digits = 0;
+            malformed = false;
+        }
+        return new ParseResult(new CalendarYear(region, year, statuses, size), malformedTokens, ignoredDays, NO_ERROR);
+    }
+}
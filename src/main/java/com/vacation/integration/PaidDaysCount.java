@@ -0,0 +1,10 @@
+package com.vacation.integration;
+
+//approximate - хотя бы один год периода посчитан по приближенному календарю
+//calendarVersion - отпечаток календарей периода, меняется при любом изменении их данных
+public record PaidDaysCount(int paidDays, boolean approximate, long calendarVersion) {
+
+    public PaidDaysCount(int paidDays, boolean approximate) {
+        this(paidDays, approximate, 0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.vacation.integration;
+
+import com.vacation.config.SharedCalendarCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Общий кэш календарей в Redis (или совместимом сервере: Valkey, KeyDB) через Spring Data Redis.
+ * Год хранится под ключом prefix:страна:год со сроком жизни maxAge, несколько лет читаются одной командой MGET,
+ * поэтому новая реплика получает календари, загруженные другими репликами, за одно обращение.
+ * Подключение (адрес, пароль, таймауты) настраивается свойствами spring.data.redis.*.
+ * Ошибки Redis не прерывают расчет: запрос считается промахом, а после серии ошибок
+ * предохранитель на время прекращает обращения.
+ */
+public class RedisSharedCalendarCache implements SharedCalendarCache {
+    private static final Logger log = LoggerFactory.getLogger(RedisSharedCalendarCache.class);
+
+    private final RedisOperations<String, byte[]> redis;
+    private final SharedCalendarCacheProperties properties;
+    private final Clock clock;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    public RedisSharedCalendarCache(RedisOperations<String, byte[]> redis, SharedCalendarCacheProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this(redis, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    public RedisSharedCalendarCache(RedisOperations<String, byte[]> redis, SharedCalendarCacheProperties properties,
+                                    MeterRegistry meterRegistry, Clock clock) {
+        this.redis = redis;
+        this.properties = properties;
+        this.clock = clock;
+        this.circuitBreaker = new CircuitBreaker(properties.getRedis().getFailureThreshold(),
+                properties.getRedis().getOpenDuration(), clock);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Map<Integer, CalendarYear> getAll(String country, Collection<Integer> years) {
+        if (years.isEmpty() || !circuitBreaker.tryAcquire()) {
+            return Map.of();
+        }
+        List<Integer> requested = List.copyOf(years);
+        List<String> keys = requested.stream().map(year -> key(country, year)).toList();
+
+        List<byte[]> values;
+        try {
+            values = redis.opsForValue().multiGet(keys);
+            if (values == null || values.size() != requested.size()) {
+                throw new IllegalStateException("Некорректный ответ Redis на MGET");
+            }
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            onFailure("get", e);
+            return Map.of();
+        }
+
+        Map<Integer, CalendarYear> result = new HashMap<>();
+        for (int i = 0; i < requested.size(); i++) {
+            byte[] value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            try {
+                SharedCalendarEntry entry = SharedCalendarEntry.decode(value, country);
+                if (entry.isFresh(clock.instant(), properties.getMaxAge())) {
+                    result.put(requested.get(i), entry.calendarYear());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                //Запись реплики другой версии или поврежденная запись считается промахом; после загрузки из API будет перезаписана
+                log.warn("Пропущена запись календаря {} на {} год: {}", country, requested.get(i), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(CalendarYear calendarYear) {
+        if (!circuitBreaker.tryAcquire()) {
+            return;
+        }
+        byte[] value = new SharedCalendarEntry(calendarYear, clock.instant()).encode();
+        try {
+            redis.opsForValue().set(key(calendarYear.getRegion(), calendarYear.getYear()), value, properties.getMaxAge());
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            onFailure("put", e);
+        }
+    }
+
+    private void onFailure(String operation, RuntimeException e) {
+        circuitBreaker.onFailure();
+        meterRegistry.counter("calendar.shared-cache.errors", "operation", operation).increment();
+        log.warn("Общий кэш календарей недоступен: {}", e.getMessage());
+    }
+
+    private String key(String country, int year) {
+        return properties.getKeyPrefix() + ":" + country + ":" + year;
+    }
+}
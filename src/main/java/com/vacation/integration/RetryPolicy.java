@@ -0,0 +1,60 @@
+package com.vacation.integration;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченное число повторов с экспоненциальной задержкой и полным джиттером:
+ * перед попыткой n ожидание выбирается случайно из [0, min(maxBackoff, initialBackoff * 2^(n-2))].
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Количество попыток должно быть больше 0");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    //Повторяются только ошибки, для которых retryable вернул true; последняя ошибка пробрасывается как есть
+    public <T> T execute(Supplier<T> action, Predicate<RuntimeException> retryable) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !retryable.test(e)) {
+                    throw e;
+                }
+                sleep(backoff(attempt));
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        long initial = initialBackoff.toMillis();
+        if (initial <= 0) {
+            return 0;
+        }
+        long cap = Math.min(maxBackoff.toMillis(), initial << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание повтора прервано", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.vacation.integration;
+
+import com.vacation.config.LocalCalendarProperties;
+import com.vacation.exception.CalendarUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Производственный календарь, вычисляемый локально по правилам:
+ * суббота и воскресенье - выходные, для РФ и ее регионов - нерабочие праздничные дни
+ * по ст. 112 ТК РФ, плюс отступления из таблицы региона (переносы выходных,
+ * региональные праздники). Календари строятся один раз при создании,
+ * поэтому запрос года из таблицы не требует ни сети, ни вычислений.
+ */
+@Component
+public class RuleBasedCalendarProvider implements HolidayCalendarProvider {
+    private static final Logger log = LoggerFactory.getLogger(RuleBasedCalendarProvider.class);
+
+    private static final List<MonthDay> FIXED_HOLIDAYS = List.of(
+            MonthDay.of(Month.JANUARY, 1), MonthDay.of(Month.JANUARY, 2), MonthDay.of(Month.JANUARY, 3),
+            MonthDay.of(Month.JANUARY, 4), MonthDay.of(Month.JANUARY, 5), MonthDay.of(Month.JANUARY, 6),
+            MonthDay.of(Month.JANUARY, 7), MonthDay.of(Month.JANUARY, 8),
+            MonthDay.of(Month.FEBRUARY, 23),
+            MonthDay.of(Month.MARCH, 8),
+            MonthDay.of(Month.MAY, 1),
+            MonthDay.of(Month.MAY, 9),
+            MonthDay.of(Month.JUNE, 12),
+            MonthDay.of(Month.NOVEMBER, 4));
+
+    private final Map<String, Map<Integer, CalendarYear>> calendars;
+
+    @Autowired
+    public RuleBasedCalendarProvider(LocalCalendarProperties properties) {
+        Map<String, Map<LocalDate, DayStatus>> transfersByRegion = new TreeMap<>();
+        if (properties.isEnabled()) {
+            properties.getTransfers().forEach((region, resource) ->
+                    transfersByRegion.put(CalendarRegions.normalize(region), loadTransfers(resource)));
+        }
+        this.calendars = buildCalendars(transfersByRegion);
+    }
+
+    //transfers - отступления от правил; годы без отступлений локальным календарем не поддерживаются
+    public RuleBasedCalendarProvider(String region, Map<LocalDate, DayStatus> transfers) {
+        this.calendars = buildCalendars(Map.of(region, transfers));
+    }
+
+    //Регион без своей таблицы использует таблицу страны
+    public boolean supports(String region, int year) {
+        Map<Integer, CalendarYear> regionCalendars = calendarsFor(region);
+        return regionCalendars != null && regionCalendars.containsKey(year);
+    }
+
+    @Override
+    public CompletableFuture<CalendarYear> getCalendarYearAsync(String region, int year) {
+        Map<Integer, CalendarYear> regionCalendars = calendarsFor(region);
+        CalendarYear calendarYear = regionCalendars != null ? regionCalendars.get(year) : null;
+        if (calendarYear == null) {
+            return CompletableFuture.failedFuture(new CalendarUnavailableException(
+                    String.format("Нет локальных правил производственного календаря (%s) на %d год", region, year)));
+        }
+        return CompletableFuture.completedFuture(calendarYear);
+    }
+
+    private Map<Integer, CalendarYear> calendarsFor(String region) {
+        Map<Integer, CalendarYear> regionCalendars = calendars.get(region);
+        return regionCalendars != null ? regionCalendars : calendars.get(CalendarRegions.countryOf(region));
+    }
+
+    private static Map<String, Map<Integer, CalendarYear>> buildCalendars(Map<String, Map<LocalDate, DayStatus>> transfersByRegion) {
+        Map<String, Map<Integer, CalendarYear>> result = new HashMap<>();
+        transfersByRegion.forEach((region, transfers) -> {
+            Map<Integer, Map<LocalDate, DayStatus>> transfersByYear = new TreeMap<>();
+            transfers.forEach((date, status) ->
+                    transfersByYear.computeIfAbsent(date.getYear(), year -> new HashMap<>()).put(date, status));
+
+            Map<Integer, CalendarYear> regionCalendars = new HashMap<>();
+            transfersByYear.forEach((year, yearTransfers) -> regionCalendars.put(year, buildYear(region, year, yearTransfers)));
+            result.put(region, Map.copyOf(regionCalendars));
+            log.info("Локальный производственный календарь {}: годы {}", region, transfersByYear.keySet());
+        });
+        return Map.copyOf(result);
+    }
+
+    private static CalendarYear buildYear(String region, int year, Map<LocalDate, DayStatus> transfers) {
+        boolean russianHolidays = CalendarRegions.countryOf(region).equals(CalendarRegions.DEFAULT_REGION);
+        DayStatus[] days = new DayStatus[Year.of(year).length()];
+        LocalDate date = LocalDate.of(year, 1, 1);
+        for (int day = 0; day < days.length; day++, date = date.plusDays(1)) {
+            DayStatus status = transfers.get(date);
+            if (status == null) {
+                status = defaultStatus(date, russianHolidays);
+            }
+            days[day] = status;
+        }
+        return new CalendarYear(region, year, days);
+    }
+
+    private static DayStatus defaultStatus(LocalDate date, boolean russianHolidays) {
+        if (russianHolidays && FIXED_HOLIDAYS.contains(MonthDay.from(date))) {
+            return DayStatus.HOLIDAY;
+        }
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY ? DayStatus.NON_WORKING_DAY : DayStatus.WORKING_DAY;
+    }
+
+    //Строки вида "2024-04-27,WORKING_DAY"; пустые строки и строки с # пропускаются
+    private static Map<LocalDate, DayStatus> loadTransfers(String resource) {
+        Map<LocalDate, DayStatus> transfers = new HashMap<>();
+        ClassPathResource classPathResource = new ClassPathResource(resource);
+        if (!classPathResource.exists()) {
+            log.warn("Таблица переносов {} не найдена, локальный календарь отключен", resource);
+            return transfers;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(classPathResource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                try {
+                    if (fields.length != 2) {
+                        throw new IllegalArgumentException("ожидается дата и статус");
+                    }
+                    DayStatus status = DayStatus.valueOf(fields[1].strip());
+                    if (status != DayStatus.WORKING_DAY && status != DayStatus.NON_WORKING_DAY && status != DayStatus.HOLIDAY) {
+                        throw new IllegalArgumentException("допустимы только WORKING_DAY, NON_WORKING_DAY и HOLIDAY");
+                    }
+                    transfers.put(LocalDate.parse(fields[0].strip()), status);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IllegalStateException(String.format("Некорректная строка %d в %s: %s", lineNumber, resource, e.getMessage()), e);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось прочитать таблицу переносов " + resource, e);
+        }
+        return transfers;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vacation.integration;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Второй уровень кэша календарей, общий для всех реплик сервиса.
+ * Год, полученный одной репликой из isdayoff.ru, остальные берут отсюда, не обращаясь к API.
+ * Записи хранят момент загрузки и перестают отдаваться, когда устаревают.
+ * Реализации не выбрасывают исключений: недоступность общего кэша равносильна промаху.
+ */
+public interface SharedCalendarCache {
+
+    //Все найденные годы страны за одно обращение; отсутствующих и устаревших лет в результате нет
+    Map<Integer, CalendarYear> getAll(String country, Collection<Integer> years);
+
+    default Optional<CalendarYear> get(String country, int year) {
+        return Optional.ofNullable(getAll(country, List.of(year)).get(year));
+    }
+
+    void put(CalendarYear calendarYear);
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    static SharedCalendarCache disabled() {
+        return Disabled.INSTANCE;
+    }
+
+    enum Disabled implements SharedCalendarCache {
+        INSTANCE;
+
+        @Override
+        public Map<Integer, CalendarYear> getAll(String country, Collection<Integer> years) {
+            return Map.of();
+        }
+
+        @Override
+        public void put(CalendarYear calendarYear) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.vacation.integration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Запись общего кэша: версия формата, регион, момент загрузки из API и календарь в формате {@link CalendarYearCodec}.
+ * Около 380 байт на год. Записи другой версии формата или другого региона не читаются,
+ * поэтому реплики разных версий могут работать с одним кэшем.
+ */
+public record SharedCalendarEntry(CalendarYear calendarYear, Instant loadedAt) {
+
+    static final byte FORMAT_VERSION = 1;
+
+    public boolean isFresh(Instant now, Duration maxAge) {
+        return now.isBefore(loadedAt.plus(maxAge));
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(400);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            output.writeUTF(calendarYear.getRegion());
+            output.writeLong(loadedAt.toEpochMilli());
+            CalendarYearCodec.write(output, calendarYear);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SharedCalendarEntry decode(byte[] bytes, String region) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte version = input.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format("Неподдерживаемая версия записи календаря: %d", version));
+        }
+        String storedRegion = input.readUTF();
+        if (!storedRegion.equals(region)) {
+            throw new IOException(String.format("Запись календаря региона %s вместо %s", storedRegion, region));
+        }
+        Instant loadedAt = Instant.ofEpochMilli(input.readLong());
+        return new SharedCalendarEntry(CalendarYearCodec.read(input, region), loadedAt);
+    }
+}
@@ -0,0 +1,44 @@
+package com.vacation.integration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одновременные запросы по одному ключу: пока операция выполняется,
+ * все вызывающие получают один и тот же {@link CompletableFuture}.
+ * Сама операция выполняется на переданном executor, а не под блокировкой map.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(K key, Supplier<V> action, Executor executor) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    V result = action.get();
+                    inFlight.remove(key, promise);
+                    promise.complete(result);
+                } catch (Throwable e) {
+                    inFlight.remove(key, promise);
+                    promise.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
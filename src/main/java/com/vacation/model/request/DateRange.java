@@ -0,0 +1,20 @@
+package com.vacation.model.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+//Период включительно, начало и конец могут совпадать
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DateRange {
+    @NotNull(message = "Дата начала обязательна")
+    private LocalDate start;
+
+    @NotNull(message = "Дата конца обязательна")
+    private LocalDate end;
+}
@@ -0,0 +1,24 @@
+package com.vacation.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+//Начисления за закрытый месяц, учитываемые в среднем заработке
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyEarningsRequest {
+    @NotNull(message = "Начисления за месяц обязательны")
+    @DecimalMin(value = "0", message = "Начисления за месяц не могут быть отрицательными")
+    private BigDecimal earnings;
+
+    //Периоды, которые не входят в расчетный период: больничные, отпуска, простой
+    private List<@Valid @NotNull(message = "Период не может быть пустым") DateRange> excludedPeriods;
+}
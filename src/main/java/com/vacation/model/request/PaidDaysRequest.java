@@ -0,0 +1,23 @@
+package com.vacation.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaidDaysRequest {
+    //Код страны и необязательно региона (ru, by, ru-ta); по умолчанию ru
+    @Pattern(regexp = "[A-Za-z]{2}(-[A-Za-z0-9]{1,3})?", message = "Код страны должен быть в формате ru или ru-xx")
+    private String countryCode;
+
+    @NotEmpty(message = "Список периодов не может быть пустым")
+    private List<@Valid @NotNull(message = "Период не может быть пустым") DateRange> ranges;
+}
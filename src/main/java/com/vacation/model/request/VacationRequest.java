@@ -2,10 +2,11 @@ package com.vacation.model.request;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
@@ -15,11 +16,11 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class VacationRequest {
-    @NotNull
+    @NotNull(message = "Средняя зарплата обязательна")
     @DecimalMin(value = "0.01", message = "Средняя зарплата должна быть больше 0")
     private BigDecimal averageSalary;
 
-    @NotNull
+    @NotNull(message = "Количество дней обязательно")
     @Min(value = 1, message = "Количество дней должно быть не меньше 1")
     private Integer vacationDays;
 
@@ -28,4 +29,12 @@ public class VacationRequest {
 
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate vacationDateEnd;
+
+    //Код страны и необязательно региона (ru, by, ru-ta); по умолчанию ru
+    @Pattern(regexp = "[A-Za-z]{2}(-[A-Za-z0-9]{1,3})?", message = "Код страны должен быть в формате ru или ru-xx")
+    private String countryCode;
+
+    public VacationRequest(BigDecimal averageSalary, Integer vacationDays, LocalDate vacationDateStart, LocalDate vacationDateEnd) {
+        this(averageSalary, vacationDays, vacationDateStart, vacationDateEnd, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.vacation.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"employeeId", "lastMonth", "months", "totalEarnings", "countedDays", "dailyAverage"})
+public class AverageEarningsResponse {
+    private String employeeId;
+    //Последний закрытый месяц, по которому отсчитываются 12 месяцев окна
+    private YearMonth lastMonth;
+    private int months;
+    private BigDecimal totalEarnings;
+    private BigDecimal countedDays;
+    //null, если в окне нет отработанных дней
+    private BigDecimal dailyAverage;
+}
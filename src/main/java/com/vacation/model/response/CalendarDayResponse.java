@@ -0,0 +1,19 @@
+package com.vacation.model.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.vacation.integration.DayStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"date", "status", "paidDay"})
+public class CalendarDayResponse {
+    private LocalDate date;
+    private DayStatus status;
+    private boolean paidDay;
+}
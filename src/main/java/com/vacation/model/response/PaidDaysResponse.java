@@ -0,0 +1,22 @@
+package com.vacation.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"start", "end", "paidDays", "approximateCalendar"})
+public class PaidDaysResponse {
+    private LocalDate start;
+    private LocalDate end;
+    private int paidDays;
+    //true, если календарь был недоступен и праздники не учтены
+    private Boolean approximateCalendar;
+}
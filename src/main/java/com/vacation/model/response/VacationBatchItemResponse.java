@@ -0,0 +1,29 @@
+package com.vacation.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"index", "vacationPay", "approximateCalendar", "error"})
+public class VacationBatchItemResponse {
+    private int index;
+    private BigDecimal vacationPay;
+    private Boolean approximateCalendar;
+    private String error;
+
+    public static VacationBatchItemResponse success(int index, BigDecimal vacationPay) {
+        return new VacationBatchItemResponse(index, vacationPay, null, null);
+    }
+
+    public static VacationBatchItemResponse failure(int index, String error) {
+        return new VacationBatchItemResponse(index, null, null, error);
+    }
+}
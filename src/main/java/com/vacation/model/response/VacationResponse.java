@@ -1,5 +1,7 @@
 package com.vacation.model.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +12,14 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"vacationPay", "approximateCalendar"})
 public class VacationResponse {
     private BigDecimal vacationPay;
+    //true, если календарь был недоступен и праздники не учтены
+    private Boolean approximateCalendar;
+
+    public VacationResponse(BigDecimal vacationPay) {
+        this.vacationPay = vacationPay;
+    }
 }
\ No newline at end of file
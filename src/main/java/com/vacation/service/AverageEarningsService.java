@@ -0,0 +1,96 @@
+package com.vacation.service;
+
+import com.vacation.exception.EmployeeNotFoundException;
+import com.vacation.exception.InvalidVacationRequestException;
+import com.vacation.model.request.DateRange;
+import com.vacation.model.request.MonthlyEarningsRequest;
+import com.vacation.model.response.AverageEarningsResponse;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Средний заработок сотрудников по начислениям за 12 последних закрытых месяцев.
+ * Каждый сотрудник хранит свое скользящее окно, которое обновляется при закрытии месяца,
+ * поэтому средний дневной заработок для расчета отпускных не требует повторной агрегации истории.
+ * Окна лежат в {@link EarningsWindowStore}: в памяти процесса или в Redis для нескольких реплик.
+ * Учитываемые дни месяца: 29.3 за полностью отработанный месяц, иначе 29.3 / дни месяца * отработанные дни.
+ */
+@Service
+public class AverageEarningsService {
+
+    private static final int COUNTED_DAYS_SCALE = 10;
+
+    private final EarningsWindowStore store;
+
+    public AverageEarningsService(EarningsWindowStore store) {
+        this.store = store;
+    }
+
+    public AverageEarningsResponse closeMonth(String employeeId, YearMonth month, MonthlyEarningsRequest request) {
+        if (request.getEarnings() == null || request.getEarnings().signum() < 0) {
+            throw new InvalidVacationRequestException("Начисления за месяц не могут быть отрицательными");
+        }
+        BigDecimal monthCountedDays = countedDays(month, request.getExcludedPeriods());
+
+        return toResponse(employeeId, store.closeMonth(employeeId, month, request.getEarnings(), monthCountedDays));
+    }
+
+    public AverageEarningsResponse getSummary(String employeeId) {
+        return toResponse(employeeId, totals(employeeId));
+    }
+
+    public BigDecimal getDailyAverage(String employeeId) {
+        return totals(employeeId).dailyAverage();
+    }
+
+    private EarningsWindow.Totals totals(String employeeId) {
+        return store.totals(employeeId).orElseThrow(
+                () -> new EmployeeNotFoundException(String.format("Нет начислений сотрудника %s", employeeId)));
+    }
+
+    //Дни месяца за вычетом исключаемых периодов (больничные, отпуска и т.п.); периоды могут пересекаться
+    static BigDecimal countedDays(YearMonth month, List<DateRange> excludedPeriods) {
+        int monthLength = month.lengthOfMonth();
+        if (excludedPeriods == null || excludedPeriods.isEmpty()) {
+            return VacationPayFormula.AVERAGE_DAYS_PER_MONTH;
+        }
+        boolean[] excluded = new boolean[monthLength];
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+        for (DateRange period : excludedPeriods) {
+            if (period.getEnd().isBefore(period.getStart())) {
+                throw new InvalidVacationRequestException("Дата конца исключаемого периода раньше даты начала");
+            }
+            if (period.getStart().isAfter(monthEnd) || period.getEnd().isBefore(monthStart)) {
+                continue;
+            }
+            int from = period.getStart().isBefore(monthStart) ? 1 : period.getStart().getDayOfMonth();
+            int to = period.getEnd().isAfter(monthEnd) ? monthLength : period.getEnd().getDayOfMonth();
+            for (int day = from; day <= to; day++) {
+                excluded[day - 1] = true;
+            }
+        }
+        int workedDays = 0;
+        for (boolean day : excluded) {
+            if (!day) {
+                workedDays++;
+            }
+        }
+        if (workedDays == monthLength) {
+            return VacationPayFormula.AVERAGE_DAYS_PER_MONTH;
+        }
+        return VacationPayFormula.AVERAGE_DAYS_PER_MONTH.multiply(BigDecimal.valueOf(workedDays))
+                .divide(BigDecimal.valueOf(monthLength), COUNTED_DAYS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static AverageEarningsResponse toResponse(String employeeId, EarningsWindow.Totals totals) {
+        BigDecimal dailyAverage = totals.countedDays().signum() > 0 ? totals.dailyAverage() : null;
+        return new AverageEarningsResponse(employeeId, totals.lastMonth(), totals.months(), totals.earnings(),
+                totals.countedDays(), dailyAverage);
+    }
+}
@@ -0,0 +1,120 @@
+package com.vacation.service;
+
+import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.VacationBatchItemResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Потоковый расчет отпускных: строки читаются, считаются и записываются по одной,
+ * поэтому память не зависит от размера входных данных, а медленный получатель
+ * притормаживает чтение (запись блокирующая).
+ */
+@Service
+public class BulkCalculationService {
+    private static final Logger log = LoggerFactory.getLogger(BulkCalculationService.class);
+
+    private static final String CSV_HEADER = "averageSalary";
+    private static final String CSV_RESULT_HEADER = "index,vacationPay,approximateCalendar,error";
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final VacationBatchService vacationBatchService;
+    private final JsonMapper jsonMapper;
+
+    public BulkCalculationService(VacationBatchService vacationBatchService, JsonMapper jsonMapper) {
+        this.vacationBatchService = vacationBatchService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public BulkCalculationStats process(BufferedReader reader, Writer writer, BulkFormat format) throws IOException {
+        long startedAt = System.nanoTime();
+        long rows = 0;
+        long failedRows = 0;
+
+        if (format == BulkFormat.CSV) {
+            writer.write(CSV_RESULT_HEADER);
+            writer.write('\n');
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || (format == BulkFormat.CSV && rows == 0 && line.startsWith(CSV_HEADER))) {
+                continue;
+            }
+            int index = Math.toIntExact(rows++);
+
+            VacationBatchItemResponse result;
+            try {
+                VacationRequest request = format == BulkFormat.CSV ? parseCsv(line) : jsonMapper.readValue(line, VacationRequest.class);
+                result = vacationBatchService.calculateItem(index, request);
+            } catch (JacksonException | IllegalArgumentException | DateTimeParseException e) {
+                result = VacationBatchItemResponse.failure(index, String.format("Некорректная строка: %s", line));
+            }
+            if (result.getError() != null) {
+                failedRows++;
+            }
+
+            write(writer, result, format);
+            if (rows % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+
+        BulkCalculationStats stats = new BulkCalculationStats(rows, failedRows, Duration.ofNanos(System.nanoTime() - startedAt));
+        log.info("Потоковый расчет завершен: {}", stats);
+        return stats;
+    }
+
+    //Формат строки CSV: averageSalary,vacationDays[,vacationDateStart,vacationDateEnd[,countryCode]]
+    private static VacationRequest parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 2 && fields.length != 4 && fields.length != 5) {
+            throw new IllegalArgumentException("Некорректное число полей");
+        }
+        return new VacationRequest(
+                new BigDecimal(fields[0].trim()),
+                Integer.valueOf(fields[1].trim()),
+                fields.length >= 4 ? parseDate(fields[2]) : null,
+                fields.length >= 4 ? parseDate(fields[3]) : null,
+                fields.length == 5 && !fields[4].isBlank() ? fields[4].trim() : null);
+    }
+
+    private static LocalDate parseDate(String field) {
+        return field.isBlank() ? null : LocalDate.parse(field.trim());
+    }
+
+    private void write(Writer writer, VacationBatchItemResponse result, BulkFormat format) throws IOException {
+        if (format == BulkFormat.NDJSON) {
+            writer.write(jsonMapper.writeValueAsString(result));
+        } else {
+            writer.write(String.valueOf(result.getIndex()));
+            writer.write(',');
+            if (result.getVacationPay() != null) {
+                writer.write(result.getVacationPay().toPlainString());
+            }
+            writer.write(',');
+            if (Boolean.TRUE.equals(result.getApproximateCalendar())) {
+                writer.write("true");
+            }
+            writer.write(',');
+            if (result.getError() != null) {
+                writer.write('"');
+                writer.write(result.getError().replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+}
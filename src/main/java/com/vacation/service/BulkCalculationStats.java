@@ -0,0 +1,17 @@
+package com.vacation.service;
+
+import java.time.Duration;
+
+public record BulkCalculationStats(long rows, long failedRows, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("обработано строк: %d, с ошибками: %d, время: %d мс, скорость: %.0f строк/с",
+                rows, failedRows, elapsed.toMillis(), rowsPerSecond());
+    }
+}
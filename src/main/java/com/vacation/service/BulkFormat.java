@@ -0,0 +1,32 @@
+package com.vacation.service;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum BulkFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    BulkFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public static BulkFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (BulkFormat format : values()) {
+                if (MediaType.parseMediaType(format.contentType).isCompatibleWith(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException(String.format("Неподдерживаемый формат данных: %s", contentType));
+    }
+
+    public static BulkFormat fromFileName(String fileName) {
+        return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+}
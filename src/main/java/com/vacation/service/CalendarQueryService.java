@@ -0,0 +1,147 @@
+package com.vacation.service;
+
+import com.vacation.integration.CalendarPeriods;
+import com.vacation.integration.CalendarRegions;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.model.request.DateRange;
+import com.vacation.model.request.PaidDaysRequest;
+import com.vacation.model.response.CalendarDayResponse;
+import com.vacation.model.response.PaidDaysResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Запросы к производственному календарю без расчета отпускных: число оплачиваемых дней
+ * в наборе периодов и статусы дней периода.
+ * Каждый нужный год загружается один раз на весь запрос, а период считается по префиксным
+ * суммам годового календаря, поэтому стоимость периода не зависит от его длины.
+ */
+@Service
+public class CalendarQueryService {
+
+    private final HolidayCalendarProvider calendarProvider;
+    private final int maxRanges;
+
+    public CalendarQueryService(HolidayCalendarProvider calendarProvider,
+                                @Value("${calendar.query.max-ranges:10000}") int maxRanges) {
+        this.calendarProvider = calendarProvider;
+        this.maxRanges = maxRanges;
+    }
+
+    //Оплачиваемые дни по каждому периоду; при недоступности календаря - приближенно, с флагом approximateCalendar
+    public CompletableFuture<List<PaidDaysResponse>> countPaidDays(PaidDaysRequest request) {
+        List<DateRange> ranges = request.getRanges();
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException("Список периодов не может быть пустым");
+        }
+        if (ranges.size() > maxRanges) {
+            throw new IllegalArgumentException(String.format("Запрос не может содержать больше %d периодов", maxRanges));
+        }
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (int i = 0; i < ranges.size(); i++) {
+            validateRange(ranges.get(i), i);
+            minYear = Math.min(minYear, ranges.get(i).getStart().getYear());
+            maxYear = Math.max(maxYear, ranges.get(i).getEnd().getYear());
+        }
+        //Все периоды вместе укладываются в то же ограничение лет, что и один период
+        if (CalendarPeriods.exceedsMaxYears(minYear, maxYear)) {
+            throw new IllegalArgumentException(String.format("Периоды запроса не могут охватывать больше %d календарных лет",
+                    CalendarPeriods.MAX_PERIOD_YEARS));
+        }
+        boolean[] neededYears = new boolean[maxYear - minYear + 1];
+        for (DateRange range : ranges) {
+            for (int year = range.getStart().getYear(); year <= range.getEnd().getYear(); year++) {
+                neededYears[year - minYear] = true;
+            }
+        }
+
+        String region = CalendarRegions.normalize(request.getCountryCode());
+        int firstYear = minYear;
+        return loadYears(firstYear, neededYears, year -> calendarProvider.getCalendarYearOrFallbackAsync(region, year))
+                .thenApply(calendarYears -> {
+                    List<PaidDaysResponse> result = new ArrayList<>(ranges.size());
+                    for (DateRange range : ranges) {
+                        result.add(countPaidDays(calendarYears, firstYear, range));
+                    }
+                    return result;
+                });
+    }
+
+    //Статусы всех дней периода; календарь нужен точный, поэтому при недоступности источника запрос завершается ошибкой
+    public CompletableFuture<List<CalendarDayResponse>> getDays(String countryCode, LocalDate start, LocalDate end) {
+        validateRange(new DateRange(start, end), 0);
+
+        String region = CalendarRegions.normalize(countryCode);
+        boolean[] neededYears = new boolean[end.getYear() - start.getYear() + 1];
+        Arrays.fill(neededYears, true);
+        return loadYears(start.getYear(), neededYears, year -> calendarProvider.getCalendarYearAsync(region, year))
+                .thenApply(calendarYears -> {
+                    List<CalendarDayResponse> result = new ArrayList<>();
+                    for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                        CalendarYear calendarYear = calendarYears[date.getYear() - start.getYear()];
+                        if (calendarYear.contains(date)) {
+                            DayStatus status = calendarYear.getStatus(date);
+                            result.add(new CalendarDayResponse(date, status, status.isPaidDay()));
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private void validateRange(DateRange range, int index) {
+        if (range == null || range.getStart() == null || range.getEnd() == null) {
+            throw new IllegalArgumentException(String.format("Период %d: даты начала и конца обязательны", index));
+        }
+        if (range.getEnd().isBefore(range.getStart())) {
+            throw new IllegalArgumentException(String.format("Период %d: дата конца раньше даты начала", index));
+        }
+        if (CalendarPeriods.exceedsMaxYears(range.getStart().getYear(), range.getEnd().getYear())) {
+            throw new IllegalArgumentException(String.format("Период %d: не больше %d календарных лет", index,
+                    CalendarPeriods.MAX_PERIOD_YEARS));
+        }
+    }
+
+    //Все нужные годы запрашиваются сразу и загружаются параллельно; результат индексирован смещением от firstYear
+    private static CompletableFuture<CalendarYear[]> loadYears(int firstYear, boolean[] neededYears,
+                                                               IntFunction<CompletableFuture<CalendarYear>> loader) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<CalendarYear>[] futures = new CompletableFuture[neededYears.length];
+        List<CompletableFuture<CalendarYear>> requested = new ArrayList<>();
+        for (int offset = 0; offset < neededYears.length; offset++) {
+            if (neededYears[offset]) {
+                futures[offset] = loader.apply(firstYear + offset);
+                requested.add(futures[offset]);
+            }
+        }
+        return CompletableFuture.allOf(requested.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            CalendarYear[] calendarYears = new CalendarYear[futures.length];
+            for (int offset = 0; offset < futures.length; offset++) {
+                if (futures[offset] != null) {
+                    calendarYears[offset] = futures[offset].join();
+                }
+            }
+            return calendarYears;
+        });
+    }
+
+    private static PaidDaysResponse countPaidDays(CalendarYear[] calendarYears, int firstYear, DateRange range) {
+        int paidDays = 0;
+        boolean approximate = false;
+        for (int year = range.getStart().getYear(); year <= range.getEnd().getYear(); year++) {
+            CalendarYear calendarYear = calendarYears[year - firstYear];
+            paidDays += calendarYear.countPaidDays(range.getStart(), range.getEnd());
+            approximate |= calendarYear.isApproximate();
+        }
+        return new PaidDaysResponse(range.getStart(), range.getEnd(), paidDays, approximate ? Boolean.TRUE : null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.vacation.service;
+
+import com.vacation.exception.InvalidVacationRequestException;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Скользящее окно из 12 последних закрытых месяцев одного сотрудника.
+ * Месяцы лежат в кольцевом буфере по номеру месяца, а суммы начислений и учитываемых дней
+ * поддерживаются нарастающим итогом: закрытие месяца вычитает вытесненные месяцы и прибавляет новый,
+ * поэтому средний дневной заработок пересчитывается за O(1), а не по всей истории.
+ */
+public class EarningsWindow {
+
+    static final int MONTHS = 12;
+
+    private final YearMonth[] months = new YearMonth[MONTHS];
+    private final BigDecimal[] earnings = new BigDecimal[MONTHS];
+    private final BigDecimal[] countedDays = new BigDecimal[MONTHS];
+
+    private YearMonth lastMonth;
+    private int monthCount;
+    private BigDecimal totalEarnings = BigDecimal.ZERO;
+    private BigDecimal totalCountedDays = BigDecimal.ZERO;
+
+    //Закрытие месяца или исправление уже закрытого; месяцы старше окна не принимаются
+    public synchronized void closeMonth(YearMonth month, BigDecimal monthEarnings, BigDecimal monthCountedDays) {
+        if (lastMonth == null || month.isAfter(lastMonth)) {
+            advanceTo(month);
+        } else if (ChronoUnit.MONTHS.between(month, lastMonth) >= MONTHS) {
+            throw new InvalidVacationRequestException(String.format("Месяц %s уже вне расчетного периода (последний закрытый месяц %s)", month, lastMonth));
+        }
+
+        int slot = slot(month);
+        if (months[slot] != null) {
+            remove(slot);
+        }
+        months[slot] = month;
+        earnings[slot] = monthEarnings;
+        countedDays[slot] = monthCountedDays;
+        monthCount++;
+        totalEarnings = totalEarnings.add(monthEarnings);
+        totalCountedDays = totalCountedDays.add(monthCountedDays);
+    }
+
+    public synchronized Totals totals() {
+        return new Totals(lastMonth, monthCount, totalEarnings, totalCountedDays);
+    }
+
+    //Сдвиг окна: вытесняются месяцы, вышедшие за 12 месяцев до нового последнего, но не больше 12 шагов
+    private void advanceTo(YearMonth month) {
+        long gap = lastMonth == null ? MONTHS : ChronoUnit.MONTHS.between(lastMonth, month);
+        for (long step = Math.max(gap - MONTHS, 0) + 1; step <= gap; step++) {
+            int slot = slot(month.minusMonths(gap - step));
+            if (months[slot] != null) {
+                remove(slot);
+            }
+        }
+        lastMonth = month;
+    }
+
+    private void remove(int slot) {
+        monthCount--;
+        totalEarnings = totalEarnings.subtract(earnings[slot]);
+        totalCountedDays = totalCountedDays.subtract(countedDays[slot]);
+        months[slot] = null;
+        earnings[slot] = null;
+        countedDays[slot] = null;
+    }
+
+    private static int slot(YearMonth month) {
+        return Math.floorMod(month.getYear() * MONTHS + month.getMonthValue() - 1, MONTHS);
+    }
+
+    //Итоги окна на момент чтения
+    public record Totals(YearMonth lastMonth, int months, BigDecimal earnings, BigDecimal countedDays) {
+
+        public BigDecimal dailyAverage() {
+            if (countedDays.signum() <= 0) {
+                throw new InvalidVacationRequestException("В расчетном периоде нет отработанных дней");
+            }
+            return VacationPayFormula.dailyAverage(earnings, countedDays);
+        }
+    }
+}
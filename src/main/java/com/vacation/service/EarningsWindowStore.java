@@ -0,0 +1,19 @@
+package com.vacation.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Хранилище скользящих окон начислений сотрудников.
+ * В памяти процесса окна не переживают перезапуск и не видны другим репликам,
+ * поэтому для нескольких реплик используется общее хранилище (Redis).
+ */
+public interface EarningsWindowStore {
+
+    //Закрытие или исправление месяца сотрудника; возвращает итоги окна после изменения
+    EarningsWindow.Totals closeMonth(String employeeId, YearMonth month, BigDecimal earnings, BigDecimal countedDays);
+
+    //Итоги окна сотрудника; пусто, если начислений еще не было
+    Optional<EarningsWindow.Totals> totals(String employeeId);
+}
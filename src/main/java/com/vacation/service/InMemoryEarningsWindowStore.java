@@ -0,0 +1,45 @@
+package com.vacation.service;
+
+import com.vacation.exception.EarningsStoreFullException;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Окна начислений в памяти процесса: подходит для одной реплики, после перезапуска начисления нужно загрузить заново.
+ * Число сотрудников ограничено, чтобы хранилище не вытесняло память расчетов: при заполнении
+ * новые сотрудники не принимаются, а уже известные продолжают обновляться.
+ */
+public class InMemoryEarningsWindowStore implements EarningsWindowStore {
+
+    private final Map<String, EarningsWindow> windows = new ConcurrentHashMap<>();
+    //Занятые места: место резервируется при создании окна, поэтому одновременные новые сотрудники не превышают предел
+    private final AtomicInteger employees = new AtomicInteger();
+    private final int maxEmployees;
+
+    public InMemoryEarningsWindowStore(int maxEmployees) {
+        this.maxEmployees = maxEmployees;
+    }
+
+    @Override
+    public EarningsWindow.Totals closeMonth(String employeeId, YearMonth month, BigDecimal earnings, BigDecimal countedDays) {
+        EarningsWindow window = windows.computeIfAbsent(employeeId, id -> {
+            if (employees.incrementAndGet() > maxEmployees) {
+                employees.decrementAndGet();
+                throw new EarningsStoreFullException(String.format("Хранилище начислений заполнено: не больше %d сотрудников", maxEmployees));
+            }
+            return new EarningsWindow();
+        });
+        window.closeMonth(month, earnings, countedDays);
+        return window.totals();
+    }
+
+    @Override
+    public Optional<EarningsWindow.Totals> totals(String employeeId) {
+        return Optional.ofNullable(windows.get(employeeId)).map(EarningsWindow::totals);
+    }
+}
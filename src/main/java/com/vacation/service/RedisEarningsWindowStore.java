@@ -0,0 +1,106 @@
+package com.vacation.service;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Окна начислений в Redis, общие для всех реплик и сохраняющиеся при перезапуске.
+ * Сотрудник хранится хешем prefix:сотрудник, поле - закрытый месяц (yyyy-MM), значение - начисления и учитываемые дни.
+ * Итоги собираются из не больше чем 12 полей, а месяцы, вышедшие из окна, удаляются.
+ * Чтение, проверка окна и запись выполняются под WATCH/MULTI: если другая реплика изменила сотрудника
+ * между чтением и записью, изменения не применяются и закрытие месяца повторяется по новым данным.
+ */
+public class RedisEarningsWindowStore implements EarningsWindowStore {
+
+    private static final char SEPARATOR = ';';
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final RedisOperations<String, String> redis;
+    private final String keyPrefix;
+
+    public RedisEarningsWindowStore(RedisOperations<String, String> redis, String keyPrefix) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public EarningsWindow.Totals closeMonth(String employeeId, YearMonth month, BigDecimal earnings, BigDecimal countedDays) {
+        String key = key(employeeId);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            EarningsWindow.Totals totals = redis.execute(new SessionCallback<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> EarningsWindow.Totals execute(RedisOperations<K, V> operations) {
+                    return tryCloseMonth((RedisOperations<String, String>) operations, key, month, earnings, countedDays);
+                }
+            });
+            if (totals != null) {
+                return totals;
+            }
+        }
+        throw new IllegalStateException(String.format("Начисления сотрудника %s одновременно изменяются другими репликами", employeeId));
+    }
+
+    //Итоги окна после записи или null, если ключ изменился после WATCH и транзакция не применена
+    private static EarningsWindow.Totals tryCloseMonth(RedisOperations<String, String> operations, String key, YearMonth month,
+                                                       BigDecimal earnings, BigDecimal countedDays) {
+        operations.watch(key);
+        HashOperations<String, String, String> hash = operations.opsForHash();
+        Map<YearMonth, String> stored = months(hash.entries(key));
+        EarningsWindow window = restore(stored);
+        try {
+            window.closeMonth(month, earnings, countedDays);
+        } catch (RuntimeException e) {
+            operations.unwatch();
+            throw e;
+        }
+
+        YearMonth windowStart = window.totals().lastMonth().minusMonths(EarningsWindow.MONTHS - 1);
+        Object[] evicted = stored.keySet().stream()
+                .filter(storedMonth -> storedMonth.isBefore(windowStart))
+                .map(YearMonth::toString)
+                .toArray();
+        operations.multi();
+        hash.put(key, month.toString(), earnings.toPlainString() + SEPARATOR + countedDays.toPlainString());
+        if (evicted.length > 0) {
+            hash.delete(key, evicted);
+        }
+        List<Object> results = operations.exec();
+        return results.isEmpty() ? null : window.totals();
+    }
+
+    @Override
+    public Optional<EarningsWindow.Totals> totals(String employeeId) {
+        HashOperations<String, String, String> hash = redis.opsForHash();
+        Map<YearMonth, String> stored = months(hash.entries(key(employeeId)));
+        return stored.isEmpty() ? Optional.empty() : Optional.of(restore(stored).totals());
+    }
+
+    private String key(String employeeId) {
+        return keyPrefix + ":" + employeeId;
+    }
+
+    private static Map<YearMonth, String> months(Map<String, String> entries) {
+        Map<YearMonth, String> months = new TreeMap<>();
+        entries.forEach((month, value) -> months.put(YearMonth.parse(month), value));
+        return months;
+    }
+
+    //Месяцы применяются по возрастанию, поэтому окно вытесняет старые месяцы так же, как при закрытии по одному
+    private static EarningsWindow restore(Map<YearMonth, String> months) {
+        EarningsWindow window = new EarningsWindow();
+        months.forEach((month, value) -> {
+            int separator = value.indexOf(SEPARATOR);
+            window.closeMonth(month, new BigDecimal(value.substring(0, separator)), new BigDecimal(value.substring(separator + 1)));
+        });
+        return window;
+    }
+}
@@ -0,0 +1,175 @@
+package com.vacation.service;
+
+import com.vacation.exception.InvalidVacationRequestException;
+import com.vacation.integration.CalendarCache;
+import com.vacation.integration.CalendarKey;
+import com.vacation.integration.CalendarRegions;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.integration.PaidDaysCount;
+import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.VacationBatchItemResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Collectors;
+
+@Service
+public class VacationBatchService {
+    private static final Logger log = LoggerFactory.getLogger(VacationBatchService.class);
+
+    private final VacationPayService vacationPayService;
+    private final HolidayCalendarProvider calendarProvider;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public VacationBatchService(VacationPayService vacationPayService, HolidayCalendarProvider calendarProvider, Validator validator,
+                                @Value("${vacation.batch.max-size:10000}") int maxBatchSize) {
+        this.vacationPayService = vacationPayService;
+        this.calendarProvider = calendarProvider;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public List<VacationBatchItemResponse> calculateVacationPay(List<VacationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidVacationRequestException("Пакет запросов не может быть пустым");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidVacationRequestException(String.format("Пакет не может содержать больше %d запросов", maxBatchSize));
+        }
+
+        //Валидация всех элементов до обращения к календарю: календари загружаются только для корректных периодов
+        List<String> errors = new ArrayList<>(requests.size());
+        for (VacationRequest request : requests) {
+            errors.add(validate(request));
+        }
+
+        //Каждый нужный год запрашивается один раз на весь пакет, все годы параллельно.
+        //Ошибка загрузки (в том числе неподдерживаемая страна) становится ошибкой только тех элементов, которым нужен этот год
+        Map<CalendarKey, CompletableFuture<CalendarYear>> calendarYears = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            VacationRequest request = requests.get(i);
+            if (errors.get(i) == null && hasValidDates(request)) {
+                String region = CalendarRegions.normalize(request.getCountryCode());
+                for (int year = request.getVacationDateStart().getYear(); year <= request.getVacationDateEnd().getYear(); year++) {
+                    calendarYears.computeIfAbsent(new CalendarKey(region, year), this::load);
+                }
+            }
+        }
+        log.info("Пакетный расчет: {} запросов, {} календарных лет", requests.size(), calendarYears.size());
+
+        List<VacationBatchItemResponse> result = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            VacationRequest request = requests.get(i);
+            String region = request != null ? CalendarRegions.normalize(request.getCountryCode()) : CalendarRegions.DEFAULT_REGION;
+            VacationBatchItemResponse item = calculateItem(i, request, errors.get(i),
+                    (startDate, endDate) -> countPaidDays(calendarYears, region, startDate, endDate));
+            if (item.getError() == null && usesApproximateCalendar(calendarYears, region, request)) {
+                item.setApproximateCalendar(true);
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    //Расчет одного элемента с ошибкой в ответе вместо исключения (используется и при потоковой обработке).
+    //Как и в пакете, при недоступности календаря расчет идет по резервному календарю с флагом approximateCalendar
+    public VacationBatchItemResponse calculateItem(int index, VacationRequest request) {
+        String region = request != null ? CalendarRegions.normalize(request.getCountryCode()) : CalendarRegions.DEFAULT_REGION;
+        boolean[] approximate = new boolean[1];
+        VacationBatchItemResponse item = calculateItem(index, request, validate(request), (startDate, endDate) -> {
+            PaidDaysCount paidDaysCount = CalendarCache.join(calendarProvider.countPaidDaysAsync(region, startDate, endDate));
+            approximate[0] = paidDaysCount.approximate();
+            return paidDaysCount.paidDays();
+        });
+        if (item.getError() == null && approximate[0]) {
+            item.setApproximateCalendar(true);
+        }
+        return item;
+    }
+
+    private VacationBatchItemResponse calculateItem(int index, VacationRequest request, String validationError,
+                                                    ToIntBiFunction<LocalDate, LocalDate> paidDaysCounter) {
+        if (validationError != null) {
+            return VacationBatchItemResponse.failure(index, validationError);
+        }
+        try {
+            BigDecimal vacationPay = vacationPayService.calculateVacationPay(request, paidDaysCounter).getVacationPay();
+            return VacationBatchItemResponse.success(index, vacationPay);
+        } catch (InvalidVacationRequestException | IllegalArgumentException e) {
+            return VacationBatchItemResponse.failure(index, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Ошибка пакетного расчета для элемента {}", index, e);
+            return VacationBatchItemResponse.failure(index, e.getMessage() != null ? e.getMessage() : "Внутренняя ошибка сервера");
+        }
+    }
+
+    private String validate(VacationRequest request) {
+        if (request == null) {
+            return "Запрос не может быть пустым";
+        }
+        Set<ConstraintViolation<VacationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        //Те же проверки периода, что и при одиночном расчете, включая ограничение числа лет
+        try {
+            vacationPayService.validateRequest(request);
+            return null;
+        } catch (InvalidVacationRequestException e) {
+            return e.getMessage();
+        }
+    }
+
+    private CompletableFuture<CalendarYear> load(CalendarKey key) {
+        try {
+            return calendarProvider.getCalendarYearOrFallbackAsync(key.region(), key.year());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean hasValidDates(VacationRequest request) {
+        return request.getVacationDateStart() != null && request.getVacationDateEnd() != null
+                && request.getVacationDateStart().isBefore(request.getVacationDateEnd());
+    }
+
+    private static boolean usesApproximateCalendar(Map<CalendarKey, CompletableFuture<CalendarYear>> calendarYears,
+                                                   String region, VacationRequest request) {
+        if (!hasValidDates(request)) {
+            return false;
+        }
+        for (int year = request.getVacationDateStart().getYear(); year <= request.getVacationDateEnd().getYear(); year++) {
+            if (CalendarCache.join(calendarYears.get(new CalendarKey(region, year))).isApproximate()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countPaidDays(Map<CalendarKey, CompletableFuture<CalendarYear>> calendarYears, String region,
+                                     LocalDate startDate, LocalDate endDate) {
+        int paidDays = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            paidDays += CalendarCache.join(calendarYears.get(new CalendarKey(region, year))).countPaidDays(startDate, endDate);
+        }
+        return paidDays;
+    }
+}
@@ -0,0 +1,7 @@
+package com.vacation.service;
+
+import com.vacation.model.response.VacationResponse;
+
+//Результат расчета вместе с версией календаря, по которому он получен (0 - расчет без дат)
+public record VacationCalculation(VacationResponse response, long calendarVersion) {
+}
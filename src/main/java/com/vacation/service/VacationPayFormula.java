@@ -0,0 +1,96 @@
+package com.vacation.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Формула отпускных: средний дневной заработок (зарплата / 29.3, 10 знаков, HALF_UP),
+ * умноженный на число дней и округленный до копеек (HALF_UP).
+ * Основной путь считает в long без создания BigDecimal: зарплата в копейках S,
+ * дневной заработок в единицах 1e-10 рубля D = S * 1e9 / 293, отпускные в копейках D * дни / 1e8.
+ * Если значения не помещаются в long или у зарплаты больше двух знаков после запятой,
+ * расчет выполняется в BigDecimal с тем же результатом.
+ */
+public final class VacationPayFormula {
+
+    static final BigDecimal AVERAGE_DAYS_PER_MONTH = new BigDecimal("29.3");
+
+    private static final int DAILY_AVERAGE_SCALE = 10;
+    private static final int PAY_SCALE = 2;
+
+    //S / 29.3 руб. = S / 2930 руб. = S * 1e9 / 293 единиц по 1e-10 руб.
+    private static final long KOPECKS_TO_DAILY_UNITS = 1_000_000_000L;
+    private static final long AVERAGE_DAYS_PER_MONTH_TENTHS = 293;
+    //1 копейка = 1e8 единиц по 1e-10 руб.
+    private static final long DAILY_UNITS_PER_KOPECK = 100_000_000L;
+
+    private static final long MAX_KOPECKS = Long.MAX_VALUE / KOPECKS_TO_DAILY_UNITS;
+    //Не больше 16 цифр: после перевода в копейки значение гарантированно помещается в long
+    private static final int MAX_SALARY_PRECISION = 16;
+    private static final long[] KOPECKS_MULTIPLIERS = {100, 10, 1};
+    private static final int MAX_DAILY_AVERAGE_PRECISION = 18;
+
+    private VacationPayFormula() {
+    }
+
+    public static BigDecimal calculate(BigDecimal averageSalary, int days) {
+        long kopecks = toKopecks(averageSalary);
+        if (kopecks <= 0 || kopecks > MAX_KOPECKS || days <= 0) {
+            return calculateExact(averageSalary, days);
+        }
+        long dailyAverage = divideHalfUp(kopecks * KOPECKS_TO_DAILY_UNITS, AVERAGE_DAYS_PER_MONTH_TENTHS);
+        long pay = payInKopecks(dailyAverage, days);
+        return pay >= 0 ? BigDecimal.valueOf(pay, PAY_SCALE) : calculateExact(averageSalary, days);
+    }
+
+    //Отпускные по уже рассчитанному среднему дневному заработку (например, по начислениям за 12 месяцев)
+    public static BigDecimal calculateFromDailyAverage(BigDecimal dailyAverage, int days) {
+        if (dailyAverage.signum() > 0 && days > 0 && dailyAverage.scale() == DAILY_AVERAGE_SCALE
+                && dailyAverage.precision() <= MAX_DAILY_AVERAGE_PRECISION) {
+            long pay = payInKopecks(dailyAverage.unscaledValue().longValue(), days);
+            if (pay >= 0) {
+                return BigDecimal.valueOf(pay, PAY_SCALE);
+            }
+        }
+        return dailyAverage.multiply(BigDecimal.valueOf(days)).setScale(PAY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    //Эталонный расчет в BigDecimal, основной путь совпадает с ним до масштаба включительно
+    public static BigDecimal calculateExact(BigDecimal averageSalary, int days) {
+        return dailyAverage(averageSalary).multiply(BigDecimal.valueOf(days)).setScale(PAY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal dailyAverage(BigDecimal averageSalary) {
+        return averageSalary.divide(AVERAGE_DAYS_PER_MONTH, DAILY_AVERAGE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    //Средний дневной заработок в масштабе формулы: 10 знаков, HALF_UP
+    static BigDecimal dailyAverage(BigDecimal earnings, BigDecimal countedDays) {
+        return earnings.divide(countedDays, DAILY_AVERAGE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    //Отпускные в копейках по дневному заработку в единицах 1e-10 руб. или -1 при переполнении
+    private static long payInKopecks(long dailyAverage, int days) {
+        long pay = dailyAverage * days;
+        if (Math.multiplyHigh(dailyAverage, days) != 0 || pay < 0) {
+            return -1;
+        }
+        return divideHalfUp(pay, DAILY_UNITS_PER_KOPECK);
+    }
+
+    //Зарплата в копейках или -1, если ее нельзя точно представить в long
+    private static long toKopecks(BigDecimal averageSalary) {
+        int scale = averageSalary.scale();
+        if (scale < 0 || scale > PAY_SCALE || averageSalary.precision() > MAX_SALARY_PRECISION) {
+            return -1;
+        }
+        return averageSalary.unscaledValue().longValue() * KOPECKS_MULTIPLIERS[scale];
+    }
+
+    //Деление неотрицательного числа с округлением HALF_UP
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        return 2 * remainder >= divisor ? quotient + 1 : quotient;
+    }
+}
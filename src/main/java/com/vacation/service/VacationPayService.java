@@ -1,45 +1,125 @@
 package com.vacation.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vacation.config.VacationResultCacheProperties;
 import com.vacation.exception.InvalidVacationRequestException;
-import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.CalendarPeriods;
+import com.vacation.integration.CalendarRegions;
+import com.vacation.integration.HolidayCalendarProvider;
 import com.vacation.model.request.VacationRequest;
 import com.vacation.model.response.VacationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
 
 @Service
 public class VacationPayService {
 
-    private static final BigDecimal AVERAGE_DAYS_PER_MONTH = new BigDecimal("29.3");
+    private final HolidayCalendarProvider calendarProvider;
+    private final MeterRegistry meterRegistry;
 
-    private final IsDayOffClient isDayOffClient;
+    //Результаты одинаковых запросов; null, если кэш выключен
+    private final Cache<ResultKey, VacationResponse> resultCache;
 
-    public VacationPayService(IsDayOffClient isDayOffClient) {
-        this.isDayOffClient = isDayOffClient;
+    public VacationPayService(HolidayCalendarProvider calendarProvider, MeterRegistry meterRegistry,
+                              VacationResultCacheProperties resultCacheProperties) {
+        this.calendarProvider = calendarProvider;
+        this.meterRegistry = meterRegistry;
+        this.resultCache = resultCacheProperties.isEnabled() ? createResultCache(resultCacheProperties, meterRegistry) : null;
     }
 
     public VacationResponse calculateVacationPay(VacationRequest vacationRequest) {
-        //Валидация запроса
+        String region = CalendarRegions.normalize(vacationRequest.getCountryCode());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            VacationResponse response = calculateVacationPay(vacationRequest,
+                    (startDate, endDate) -> calendarProvider.countPaidDays(region, startDate, endDate));
+            success = true;
+            return response;
+        } finally {
+            sample.stop(calculationTimer(vacationRequest, success));
+        }
+    }
+
+    //Асинхронный расчет: поток запроса не ждет ответа производственного календаря
+    public CompletableFuture<VacationResponse> calculateVacationPayAsync(VacationRequest vacationRequest) {
+        return calculateAsync(vacationRequest).thenApply(VacationCalculation::response);
+    }
+
+    //Асинхронный расчет с версией календаря, по которой можно проверять актуальность сохраненного результата
+    public CompletableFuture<VacationCalculation> calculateAsync(VacationRequest vacationRequest) {
         validateRequest(vacationRequest);
 
-        //Расчет среднего заработка
-        BigDecimal dailyAverage = calculateDailyAverage(vacationRequest.getAverageSalary());
+        if (vacationRequest.getVacationDateStart() == null || vacationRequest.getVacationDateEnd() == null) {
+            VacationResponse response = calculateCached(vacationRequest, CalendarRegions.DEFAULT_REGION, 0,
+                    () -> calculateVacationPay(vacationRequest));
+            return CompletableFuture.completedFuture(new VacationCalculation(response, 0));
+        }
+        String region = CalendarRegions.normalize(vacationRequest.getCountryCode());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return calendarProvider.countPaidDaysAsync(region, vacationRequest.getVacationDateStart(), vacationRequest.getVacationDateEnd())
+                .thenApply(paidDaysCount -> {
+                    VacationResponse response = calculateCached(vacationRequest, region, paidDaysCount.calendarVersion(), () -> {
+                        VacationResponse calculated = calculateVacationPay(vacationRequest, (start, end) -> paidDaysCount.paidDays());
+                        if (paidDaysCount.approximate()) {
+                            calculated.setApproximateCalendar(true);
+                        }
+                        return calculated;
+                    });
+                    return new VacationCalculation(response, paidDaysCount.calendarVersion());
+                })
+                .whenComplete((response, e) -> sample.stop(calculationTimer(vacationRequest, e == null)));
+    }
+
+    //Расчет по готовому среднему дневному заработку (по начислениям сотрудника за 12 месяцев); зарплата в запросе не нужна
+    public CompletableFuture<VacationResponse> calculateVacationPayAsync(VacationRequest vacationRequest, BigDecimal dailyAverage) {
+        validatePeriod(vacationRequest);
+
+        if (vacationRequest.getVacationDateStart() == null || vacationRequest.getVacationDateEnd() == null) {
+            BigDecimal vacationPay = VacationPayFormula.calculateFromDailyAverage(dailyAverage, vacationRequest.getVacationDays());
+            return CompletableFuture.completedFuture(new VacationResponse(vacationPay));
+        }
+        String region = CalendarRegions.normalize(vacationRequest.getCountryCode());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return calendarProvider.countPaidDaysAsync(region, vacationRequest.getVacationDateStart(), vacationRequest.getVacationDateEnd())
+                .thenApply(paidDaysCount -> {
+                    int daysToCalculate = calculateDays(vacationRequest, (start, end) -> paidDaysCount.paidDays());
+                    VacationResponse response = new VacationResponse(VacationPayFormula.calculateFromDailyAverage(dailyAverage, daysToCalculate));
+                    if (paidDaysCount.approximate()) {
+                        response.setApproximateCalendar(true);
+                    }
+                    return response;
+                })
+                .whenComplete((response, e) -> sample.stop(calculationTimer(vacationRequest, e == null)));
+    }
+
+    //Расчет с заданным источником оплачиваемых дней (пакетный расчет использует заранее загруженные календари)
+    VacationResponse calculateVacationPay(VacationRequest vacationRequest, ToIntBiFunction<LocalDate, LocalDate> paidDaysCounter) {
+        //Валидация запроса
+        validateRequest(vacationRequest);
 
         //Количество дней для расчета
-        int daysToCalculate = calculateDays(vacationRequest);
+        int daysToCalculate = calculateDays(vacationRequest, paidDaysCounter);
 
-        //Расчет отпускных
-        BigDecimal vacationPay = dailyAverage.multiply(BigDecimal.valueOf(daysToCalculate)).setScale(2, RoundingMode.HALF_UP);
+        //Расчет отпускных по среднему дневному заработку (в копейках в long, при переполнении в BigDecimal)
+        BigDecimal vacationPay = VacationPayFormula.calculate(vacationRequest.getAverageSalary(), daysToCalculate);
 
         return new VacationResponse(vacationPay);
     }
 
-    private int calculateDays(VacationRequest request) {
+    private int calculateDays(VacationRequest request, ToIntBiFunction<LocalDate, LocalDate> paidDaysCounter) {
         if (request.getVacationDateStart() != null && request.getVacationDateEnd() != null) {
-            int days = isDayOffClient.countPaidDays(request.getVacationDateStart(), request.getVacationDateEnd());
+            int days = paidDaysCounter.applyAsInt(request.getVacationDateStart(), request.getVacationDateEnd());
             if (days <= 0) {
                 throw new IllegalArgumentException("Отпуск не может состоять только из праздников");
             }
@@ -49,15 +129,48 @@ public class VacationPayService {
         }
     }
 
-    private BigDecimal calculateDailyAverage(BigDecimal averageSalary) {
-        return averageSalary.divide(AVERAGE_DAYS_PER_MONTH, 10, RoundingMode.HALF_UP);
+    //Версия календаря входит в ключ: после обновления календаря прежние результаты просто перестают запрашиваться
+    //и вытесняются. Наружу отдается копия, чтобы вызывающий код не мог изменить запомненный ответ
+    private VacationResponse calculateCached(VacationRequest request, String region, long calendarVersion,
+                                             Supplier<VacationResponse> calculation) {
+        if (resultCache == null) {
+            return calculation.get();
+        }
+        VacationResponse cached = resultCache.get(ResultKey.of(request, region, calendarVersion), key -> calculation.get());
+        return new VacationResponse(cached.getVacationPay(), cached.getApproximateCalendar());
+    }
 
+    private static Cache<ResultKey, VacationResponse> createResultCache(VacationResultCacheProperties properties,
+                                                                      MeterRegistry meterRegistry) {
+        Cache<ResultKey, VacationResponse> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "vacationResults");
     }
 
-    private void validateRequest(VacationRequest vacationRequest) {
+    //Время расчета вместе с ожиданием календаря, отдельно для расчета по дням и по датам
+    private Timer calculationTimer(VacationRequest request, boolean success) {
+        boolean byDates = request.getVacationDateStart() != null && request.getVacationDateEnd() != null;
+        return Timer.builder("vacation.calculation")
+                .tag("mode", byDates ? "dates" : "days")
+                .tag("outcome", success ? "SUCCESS" : "ERROR")
+                .description("Расчет отпускных")
+                .register(meterRegistry);
+    }
+
+    //Проверка запроса без обращения к календарю (пакетный расчет проверяет так каждый элемент до загрузки календарей)
+    void validateRequest(VacationRequest vacationRequest) {
         if (vacationRequest.getAverageSalary().compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidVacationRequestException("Средняя зарплата должна быть больше 0");
         }
+        validatePeriod(vacationRequest);
+    }
+
+    private void validatePeriod(VacationRequest vacationRequest) {
+        if (vacationRequest.getVacationDays() == null) {
+            throw new InvalidVacationRequestException("Количество дней обязательно");
+        }
         if (vacationRequest.getVacationDays() <= 0) {
             throw new InvalidVacationRequestException("Количество дней отпуска должно быть больше 0");
         }
@@ -65,6 +178,11 @@ public class VacationPayService {
             if (!vacationRequest.getVacationDateStart().isBefore(vacationRequest.getVacationDateEnd())) {
                 throw new InvalidVacationRequestException("Дата окончания отпуска должна быть после даты начала");
             }
+            int firstYear = vacationRequest.getVacationDateStart().getYear();
+            if (CalendarPeriods.exceedsMaxYears(firstYear, vacationRequest.getVacationDateEnd().getYear())) {
+                throw new InvalidVacationRequestException(String.format("Отпуск не может охватывать больше %d календарных лет",
+                        CalendarPeriods.MAX_PERIOD_YEARS));
+            }
             long actualDays = ChronoUnit.DAYS.between(vacationRequest.getVacationDateStart(), vacationRequest.getVacationDateEnd()) + 1;
             if (actualDays != vacationRequest.getVacationDays()) {
                 throw new InvalidVacationRequestException("Несоответствие количества дней и дат");
@@ -72,4 +190,13 @@ public class VacationPayService {
         }
     }
 
-}
\ No newline at end of file
+    //Нормализованный запрос: 100000 и 100000.00 - один и тот же ключ
+    private record ResultKey(BigDecimal averageSalary, int vacationDays, LocalDate vacationDateStart,
+                             LocalDate vacationDateEnd, String region, long calendarVersion) {
+
+        static ResultKey of(VacationRequest request, String region, long calendarVersion) {
+            return new ResultKey(request.getAverageSalary().stripTrailingZeros(), request.getVacationDays(),
+                    request.getVacationDateStart(), request.getVacationDateEnd(), region, calendarVersion);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.VacationCalculator;
+
+import com.vacation.integration.CalendarRegions;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Календари для тестов: полный год с одинаковым статусом всех дней или рабочий год с заданными праздниками.
+ */
+public final class CalendarYears {
+
+    private CalendarYears() {
+    }
+
+    //Все дни года с одним статусом
+    public static CalendarYear uniform(int year, DayStatus status) {
+        DayStatus[] days = new DayStatus[LocalDate.of(year, 1, 1).lengthOfYear()];
+        Arrays.fill(days, status);
+        return new CalendarYear(year, days);
+    }
+
+    //Все дни года рабочие, кроме указанных праздников
+    public static CalendarYear workingYear(int year, LocalDate... holidays) {
+        return workingYear(CalendarRegions.DEFAULT_REGION, year, holidays);
+    }
+
+    public static CalendarYear workingYear(String region, int year, LocalDate... holidays) {
+        DayStatus[] days = new DayStatus[LocalDate.of(year, 1, 1).lengthOfYear()];
+        Arrays.fill(days, DayStatus.WORKING_DAY);
+        for (LocalDate holiday : holidays) {
+            days[holiday.getDayOfYear() - 1] = DayStatus.HOLIDAY;
+        }
+        return new CalendarYear(region, year, days);
+    }
+}
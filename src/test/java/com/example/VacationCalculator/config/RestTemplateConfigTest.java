@@ -0,0 +1,72 @@
+package com.example.VacationCalculator.config;
+
+import com.vacation.config.CalendarCacheProperties;
+import com.vacation.config.IsDayOffProperties;
+import com.vacation.config.RestTemplateConfig;
+import com.vacation.integration.CaffeineCalendarCache;
+import com.vacation.integration.CalendarSnapshotStore;
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.SharedCalendarCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RestTemplateConfigTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    //Поток, в котором клиент обратился к API
+    private final AtomicReference<Thread> fetchThread = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        byte[] workingYear = String.join("%0A", Collections.nCopies(365, "0")).getBytes(StandardCharsets.US_ASCII);
+        when(restTemplate.getForEntity(anyString(), eq(byte[].class))).thenAnswer(invocation -> {
+            fetchThread.set(Thread.currentThread());
+            return new ResponseEntity<>(workingYear, HttpStatus.OK);
+        });
+    }
+
+    @Test
+    void isDayOffClient_withVirtualThreads_shouldFetchOnVirtualThread() {
+        //When
+        isDayOffClient(true).getCalendarYear(2026);
+
+        //Then
+        assertThat(fetchThread.get().isVirtual()).isTrue();
+        assertThat(fetchThread.get().getName()).startsWith("calendar-fetch-");
+    }
+
+    @Test
+    void isDayOffClient_withoutVirtualThreads_shouldFetchOnPlatformThread() {
+        //When
+        isDayOffClient(false).getCalendarYear(2026);
+
+        //Then
+        assertThat(fetchThread.get().isVirtual()).isFalse();
+        assertThat(fetchThread.get().getName()).startsWith("calendar-fetch-");
+    }
+
+    private IsDayOffClient isDayOffClient(boolean virtualThreads) {
+        return new RestTemplateConfig().isDayOffClient(restTemplate, new IsDayOffProperties(),
+                loader -> new CaffeineCalendarCache(new CalendarCacheProperties(), loader), CalendarSnapshotStore.disabled(),
+                SharedCalendarCache.disabled(), virtualThreads, new SimpleMeterRegistry());
+    }
+}
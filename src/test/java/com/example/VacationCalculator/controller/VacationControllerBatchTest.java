@@ -0,0 +1,80 @@
+package com.example.VacationCalculator.controller;
+
+import com.vacation.VacationCalculatorApplication;
+import com.vacation.controller.VacationController;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.service.BulkCalculationService;
+import com.vacation.service.VacationBatchService;
+import com.vacation.service.VacationPayService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка элементов пакета: без @Valid на списке единственная проверка - в VacationBatchService.
+ */
+@WebMvcTest(controllers = VacationController.class, properties = "vacation.batch.max-size=3")
+@ContextConfiguration(classes = VacationCalculatorApplication.class)
+@Import(VacationBatchService.class)
+class VacationControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private VacationPayService vacationPayService;
+
+    @MockitoBean
+    private HolidayCalendarProvider calendarProvider;
+
+    @MockitoBean
+    private BulkCalculationService bulkCalculationService;
+
+    @Test
+    void calculateVacationPayBatch_withInvalidItems_shouldReturnErrorPerItem() throws Exception {
+        // Given
+        String requests = """
+                [
+                  {"averageSalary": -1, "vacationDays": 28},
+                  {"averageSalary": 10000, "vacationDays": 2, "countryCode": "!!"},
+                  null
+                ]""";
+
+        //When & Then
+        mockMvc.perform(post("/api/calculate/batch").contentType(MediaType.APPLICATION_JSON).content(requests))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].error").value("averageSalary: Средняя зарплата должна быть больше 0"))
+                .andExpect(jsonPath("$[1].error").value("countryCode: Код страны должен быть в формате ru или ru-xx"))
+                .andExpect(jsonPath("$[2].error").value("Запрос не может быть пустым"));
+        verifyNoInteractions(calendarProvider);
+    }
+
+    @Test
+    void calculateVacationPayBatch_withTooManyItems_shouldReturnBadRequest() throws Exception {
+        // Given
+        String requests = """
+                [
+                  {"averageSalary": 10000, "vacationDays": 1},
+                  {"averageSalary": 10000, "vacationDays": 2},
+                  {"averageSalary": 10000, "vacationDays": 3},
+                  {"averageSalary": 10000, "vacationDays": 4}
+                ]""";
+
+        //When & Then
+        mockMvc.perform(post("/api/calculate/batch").contentType(MediaType.APPLICATION_JSON).content(requests))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Пакет не может содержать больше 3 запросов"));
+        verifyNoInteractions(calendarProvider);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.VacationCalculator.controller;
+
+import com.vacation.VacationCalculatorApplication;
+import com.vacation.controller.VacationController;
+import com.vacation.model.response.VacationResponse;
+import com.vacation.service.BulkCalculationService;
+import com.vacation.service.VacationBatchService;
+import com.vacation.service.VacationCalculation;
+import com.vacation.service.VacationPayService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(VacationController.class)
+@ContextConfiguration(classes = VacationCalculatorApplication.class)
+class VacationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private VacationPayService vacationPayService;
+
+    @MockitoBean
+    private VacationBatchService vacationBatchService;
+
+    @MockitoBean
+    private BulkCalculationService bulkCalculationService;
+
+    @Test
+    void calculateVacationPay_withExactCalendar_shouldReturnETagAndPublicCacheControl() throws Exception {
+        // Given
+        calculationReturns(new VacationResponse(new BigDecimal("682.59")), 7);
+
+        //When
+        MvcResult result = perform(calculateRequest());
+
+        //Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).matches("\"[0-9a-f]{32}\"");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=3600, public");
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("{\"vacationPay\":682.59}");
+    }
+
+    @Test
+    void calculateVacationPay_withMatchingIfNoneMatch_shouldReturnNotModified() throws Exception {
+        // Given
+        calculationReturns(new VacationResponse(new BigDecimal("682.59")), 7);
+        String eTag = perform(calculateRequest()).getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When
+        MvcResult result = perform(calculateRequest().header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        //Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(304);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void calculateVacationPay_withApproximateCalendar_shouldReturnNoStoreWithoutETag() throws Exception {
+        // Given
+        calculationReturns(new VacationResponse(new BigDecimal("682.59"), true), 7);
+
+        //When
+        MvcResult result = perform(calculateRequest());
+
+        //Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-store");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    void calculateVacationPay_withNewCalendarVersion_shouldChangeETag() throws Exception {
+        // Given
+        calculationReturns(new VacationResponse(new BigDecimal("682.59")), 7);
+        String oldETag = perform(calculateRequest()).getResponse().getHeader(HttpHeaders.ETAG);
+        calculationReturns(new VacationResponse(new BigDecimal("682.59")), 8);
+
+        //When
+        MvcResult result = perform(calculateRequest().header(HttpHeaders.IF_NONE_MATCH, oldETag));
+
+        //Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull().isNotEqualTo(oldETag);
+    }
+
+    private void calculationReturns(VacationResponse response, long calendarVersion) {
+        when(vacationPayService.calculateAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(new VacationCalculation(response, calendarVersion)));
+    }
+
+    private static MockHttpServletRequestBuilder calculateRequest() {
+        return get("/api/calculate")
+                .param("averageSalary", "10000")
+                .param("vacationDays", "2")
+                .param("vacationDateStart", "2026-02-22")
+                .param("vacationDateEnd", "2026-02-23");
+    }
+
+    //Контроллер возвращает CompletableFuture, поэтому ответ формируется при асинхронной диспетчеризации
+    private MvcResult perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.config.CalendarCacheProperties;
+import com.vacation.integration.CaffeineCalendarCache;
+import com.vacation.integration.CalendarCache;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.example.VacationCalculator.CalendarYears.uniform;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CaffeineCalendarCacheTest {
+
+    @Test
+    void get_withSameYearCalledTwice_shouldLoadOnceAndCountHit() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CalendarCache cache = createCache(new CalendarCacheProperties(), year -> {
+            loads.incrementAndGet();
+            return uniform(year, DayStatus.WORKING_DAY);
+        });
+
+        //When
+        cache.get(2026);
+        cache.get(2026);
+
+        //Then
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_withFailingLoader_shouldRethrowOriginalExceptionAndNotCacheFailure() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CalendarCache cache = createCache(new CalendarCacheProperties(), year -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("Пустой ответ от API");
+            }
+            return uniform(year, DayStatus.WORKING_DAY);
+        });
+
+        //When & Then
+        assertThatThrownBy(() -> cache.get(2026)).isInstanceOf(IllegalStateException.class).hasMessage("Пустой ответ от API");
+        assertThat(cache.get(2026).getYear()).isEqualTo(2026);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_withMoreYearsThanMaxSize_shouldEvict() {
+        // Given
+        CalendarCacheProperties properties = new CalendarCacheProperties();
+        properties.setMaxSize(2);
+        CalendarCache cache = createCache(properties, year -> uniform(year, DayStatus.WORKING_DAY));
+
+        //When
+        cache.get(2024);
+        cache.get(2025);
+        cache.get(2026);
+
+        //Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void refresh_withFailingLoader_shouldKeepPreviousValue() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CalendarCache cache = createCache(new CalendarCacheProperties(), year -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new RuntimeException("Не удалось получить информацию о праздничных днях и выходных");
+            }
+            return uniform(year, DayStatus.WORKING_DAY);
+        });
+        CalendarYear initial = cache.get(2026);
+
+        //When
+        cache.refresh(2026);
+
+        //Then
+        assertThat(cache.get(2026)).isSameAs(initial);
+    }
+
+    @Test
+    void refresh_withUpdatedCalendar_shouldReplaceValue() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CalendarCache cache = createCache(new CalendarCacheProperties(),
+                year -> uniform(year, loads.incrementAndGet() == 1 ? DayStatus.WORKING_DAY : DayStatus.HOLIDAY));
+        cache.get(2026);
+
+        //When
+        cache.refresh(2026);
+
+        //Then
+        assertThat(cache.get(2026).countPaidDays()).isEqualTo(0);
+    }
+
+    private static CalendarCache createCache(CalendarCacheProperties properties, Function<Integer, CalendarYear> loader) {
+        return new CaffeineCalendarCache(properties, year -> CompletableFuture.supplyAsync(() -> loader.apply(year), Runnable::run),
+                Runnable::run);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.config.CalendarSnapshotProperties;
+import com.vacation.integration.CalendarSnapshotStore;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_withSavedCalendars_shouldRestoreThemInNewStore() {
+        // Given
+        CalendarSnapshotProperties properties = properties(tempDir.resolve("snapshot.bin"));
+        CalendarSnapshotStore store = new CalendarSnapshotStore(properties);
+        store.save(new CalendarYear(2025, new DayStatus[]{DayStatus.HOLIDAY, DayStatus.WORKING_DAY}));
+        store.save(new CalendarYear(2026, new DayStatus[]{DayStatus.HOLIDAY, DayStatus.NON_WORKING_DAY, DayStatus.SHORTENED_DAY}));
+
+        //When
+        List<CalendarYear> loaded = List.copyOf(new CalendarSnapshotStore(properties).load());
+
+        //Then
+        assertThat(loaded).extracting(CalendarYear::getYear).containsExactly(2025, 2026);
+        assertThat(loaded.get(1).size()).isEqualTo(3);
+        assertThat(loaded.get(1).getStatus(LocalDate.of(2026, 1, 3))).isEqualTo(DayStatus.SHORTENED_DAY);
+        assertThat(loaded.get(1).countPaidDays()).isEqualTo(2);
+    }
+
+    @Test
+    void load_withCalendarsOfDifferentRegions_shouldKeepThemSeparate() {
+        // Given
+        CalendarSnapshotProperties properties = properties(tempDir.resolve("snapshot.bin"));
+        CalendarSnapshotStore store = new CalendarSnapshotStore(properties);
+        store.save(new CalendarYear("ru", 2026, new DayStatus[]{DayStatus.HOLIDAY}));
+        store.save(new CalendarYear("by", 2026, new DayStatus[]{DayStatus.WORKING_DAY, DayStatus.HOLIDAY}));
+
+        //When
+        CalendarSnapshotStore restored = new CalendarSnapshotStore(properties);
+        restored.load();
+
+        //Then
+        assertThat(restored.find("ru", 2026)).get().extracting(CalendarYear::size).isEqualTo(1);
+        assertThat(restored.find("by", 2026)).get().extracting(CalendarYear::size).isEqualTo(2);
+        assertThat(restored.find("kz", 2026)).isEmpty();
+    }
+
+    @Test
+    void load_withCorruptedFile_shouldReturnEmpty() throws IOException {
+        // Given
+        Path path = tempDir.resolve("snapshot.bin");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        //When & Then
+        assertThat(new CalendarSnapshotStore(properties(path)).load()).isEmpty();
+    }
+
+    @Test
+    void load_withUnsupportedVersion_shouldReturnEmpty() throws IOException {
+        // Given
+        Path path = tempDir.resolve("snapshot.bin");
+        new CalendarSnapshotStore(properties(path)).save(new CalendarYear(2026, new DayStatus[]{DayStatus.NON_WORKING_DAY}));
+        byte[] bytes = Files.readAllBytes(path);
+        // версия формата, которую эта сборка не знает
+        bytes[4] = 2;
+        Files.write(path, bytes);
+
+        //When & Then
+        assertThat(new CalendarSnapshotStore(properties(path)).load()).isEmpty();
+    }
+
+    @Test
+    void load_withMissingFile_shouldReturnEmpty() {
+        //When & Then
+        assertThat(new CalendarSnapshotStore(properties(tempDir.resolve("missing.bin"))).load()).isEmpty();
+    }
+
+    private static CalendarSnapshotProperties properties(Path path) {
+        CalendarSnapshotProperties properties = new CalendarSnapshotProperties();
+        properties.setPath(path.toString());
+        return properties;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.config.CalendarWarmUpProperties;
+import com.vacation.exception.CalendarUnavailableException;
+import com.vacation.integration.CalendarWarmUp;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.HolidayCalendarProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarWarmUpTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private HolidayCalendarProvider calendarProvider;
+
+    //Состояния готовности, опубликованные прогревом
+    private final List<ReadinessState> readiness = new ArrayList<>();
+    private final ApplicationEventPublisher eventPublisher =
+            event -> readiness.add((ReadinessState) ((AvailabilityChangeEvent<?>) event).getState());
+
+    @Test
+    void warmUp_shouldLoadPreviousCurrentAndNextYearBeforeAcceptingTraffic() {
+        // Given
+        CalendarWarmUp warmUp = new CalendarWarmUp(calendarProvider, new CalendarWarmUpProperties(), eventPublisher, CLOCK);
+        when(calendarProvider.getCalendarYearAsync(anyString(), anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(CalendarYear.weekendsOnly(invocation.getArgument(1))));
+        warmUp.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        Status before = warmUp.health().getStatus();
+
+        //When
+        warmUp.warmUp().join();
+
+        //Then
+        assertThat(before).isEqualTo(Status.UP);
+        assertThat(readiness).containsExactly(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(warmUp.health().getDetails()).containsEntry("warmUp", "done");
+        verify(calendarProvider).getCalendarYearAsync("ru", 2025);
+        verify(calendarProvider).getCalendarYearAsync("ru", 2026);
+        verify(calendarProvider).getCalendarYearAsync("ru", 2027);
+        verify(calendarProvider).preload("ru", List.of(2025, 2026, 2027));
+    }
+
+    @Test
+    void warmUp_withUnavailableYear_shouldReportUpWithFailedYear() {
+        // Given
+        CalendarWarmUpProperties properties = new CalendarWarmUpProperties();
+        properties.setYearsBefore(0);
+        CalendarWarmUp warmUp = new CalendarWarmUp(calendarProvider, properties, eventPublisher, CLOCK);
+        when(calendarProvider.getCalendarYearAsync("ru", 2026))
+                .thenReturn(CompletableFuture.completedFuture(CalendarYear.weekendsOnly(2026)));
+        when(calendarProvider.getCalendarYearAsync("ru", 2027))
+                .thenReturn(CompletableFuture.failedFuture(new CalendarUnavailableException("Сервис недоступен")));
+
+        //When
+        warmUp.warmUp().join();
+
+        //Then
+        Health health = warmUp.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("failed", List.of("ru/2027"));
+        assertThat(readiness).containsExactly(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void warmUp_withDisabledWarmUp_shouldNotDelayReadinessOrLoad() {
+        // Given
+        CalendarWarmUpProperties properties = new CalendarWarmUpProperties();
+        properties.setEnabled(false);
+        CalendarWarmUp warmUp = new CalendarWarmUp(calendarProvider, properties, eventPublisher, CLOCK);
+
+        //When
+        warmUp.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        warmUp.warmUp().join();
+
+        //Then
+        assertThat(readiness).isEmpty();
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.UP);
+        verify(calendarProvider, never()).getCalendarYearAsync(anyString(), anyInt());
+    }
+
+    @Test
+    void refresh_shouldRefreshEveryYearOfWindowDespiteErrors() {
+        // Given
+        CalendarWarmUp warmUp = new CalendarWarmUp(calendarProvider, new CalendarWarmUpProperties(), eventPublisher, CLOCK);
+        doThrow(new IllegalArgumentException("Календарь страны ru не поддерживается")).when(calendarProvider).refresh("ru", 2025);
+
+        //When
+        warmUp.refresh();
+
+        //Then
+        verify(calendarProvider).refresh("ru", 2025);
+        verify(calendarProvider).refresh("ru", 2026);
+        verify(calendarProvider).refresh("ru", 2027);
+    }
+}
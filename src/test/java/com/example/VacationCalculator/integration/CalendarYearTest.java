@@ -0,0 +1,87 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarYearTest {
+
+    @Test
+    void countPaidDays_withWholeYear_shouldMatchDayByDayCount() {
+        // Given
+        CalendarYear calendarYear = new CalendarYear(2024, mixedYear(2024));
+
+        //When & Then
+        for (LocalDate start = LocalDate.of(2024, 1, 1); start.getYear() == 2024; start = start.plusDays(17)) {
+            for (LocalDate end = start; end.getYear() == 2024; end = end.plusDays(23)) {
+                assertThat(calendarYear.countPaidDays(start, end)).isEqualTo(countDayByDay(calendarYear, start, end));
+            }
+        }
+    }
+
+    @Test
+    void countPaidDays_withPeriodOutsideYear_shouldClampToYear() {
+        // Given
+        DayStatus[] days = new DayStatus[365];
+        Arrays.fill(days, DayStatus.WORKING_DAY);
+        days[0] = DayStatus.HOLIDAY;
+        CalendarYear calendarYear = new CalendarYear(2026, days);
+
+        //When & Then
+        assertThat(calendarYear.countPaidDays(LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 10))).isEqualTo(9);
+        assertThat(calendarYear.countPaidDays(LocalDate.of(2026, 12, 25), LocalDate.of(2027, 1, 10))).isEqualTo(7);
+        assertThat(calendarYear.countPaidDays(LocalDate.of(2027, 1, 1), LocalDate.of(2027, 1, 10))).isEqualTo(0);
+        assertThat(calendarYear.countPaidDays()).isEqualTo(364);
+    }
+
+    @Test
+    void getStatus_withPartialYear_shouldReturnNullAfterLastKnownDay() {
+        // Given
+        CalendarYear calendarYear = new CalendarYear(2026, new DayStatus[]{DayStatus.HOLIDAY, DayStatus.NON_WORKING_DAY});
+
+        //When & Then
+        assertThat(calendarYear.size()).isEqualTo(2);
+        assertThat(calendarYear.getStatus(LocalDate.of(2026, 1, 1))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(calendarYear.getStatus(LocalDate.of(2026, 1, 2))).isEqualTo(DayStatus.NON_WORKING_DAY);
+        assertThat(calendarYear.getStatus(LocalDate.of(2026, 1, 3))).isNull();
+        assertThat(calendarYear.countPaidDays(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))).isEqualTo(1);
+    }
+
+    @Test
+    void fingerprint_shouldChangeOnlyWhenDayStatusesChange() {
+        // Given
+        DayStatus[] days = mixedYear(2026);
+        DayStatus[] changedDays = days.clone();
+        changedDays[100] = changedDays[100] == DayStatus.HOLIDAY ? DayStatus.WORKING_DAY : DayStatus.HOLIDAY;
+
+        //When & Then
+        assertThat(new CalendarYear(2026, days).fingerprint()).isEqualTo(new CalendarYear(2026, days.clone()).fingerprint());
+        assertThat(new CalendarYear(2026, changedDays).fingerprint()).isNotEqualTo(new CalendarYear(2026, days).fingerprint());
+        assertThat(CalendarYear.weekendsOnly(2026).fingerprint()).isNotEqualTo(new CalendarYear(2026, days).fingerprint());
+    }
+
+    private static DayStatus[] mixedYear(int year) {
+        DayStatus[] statuses = {DayStatus.WORKING_DAY, DayStatus.HOLIDAY, DayStatus.NON_WORKING_DAY,
+                DayStatus.SHORTENED_DAY, DayStatus.HOLIDAY, DayStatus.WORKING_DAY_SPECIAL, DayStatus.HOLIDAY};
+        DayStatus[] days = new DayStatus[LocalDate.of(year, 1, 1).lengthOfYear()];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = statuses[(i * 31 + i / 7) % statuses.length];
+        }
+        return days;
+    }
+
+    private static int countDayByDay(CalendarYear calendarYear, LocalDate start, LocalDate end) {
+        int count = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (calendarYear.getStatus(date).isPaidDay()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
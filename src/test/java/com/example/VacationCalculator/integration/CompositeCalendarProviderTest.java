@@ -0,0 +1,83 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.CompositeCalendarProvider;
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.RuleBasedCalendarProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompositeCalendarProviderTest {
+    @Mock
+    private IsDayOffClient isDayOffClient;
+
+    private CompositeCalendarProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        RuleBasedCalendarProvider localProvider = new RuleBasedCalendarProvider("ru",
+                Map.of(LocalDate.of(2026, 1, 9), DayStatus.NON_WORKING_DAY));
+        provider = new CompositeCalendarProvider(localProvider, isDayOffClient);
+    }
+
+    @Test
+    void getCalendarYearAsync_withLocalRules_shouldNotCallRemote() {
+        //When
+        CalendarYear calendarYear = provider.getCalendarYearAsync(2026).join();
+
+        //Then
+        assertThat(calendarYear.getStatus(LocalDate.of(2026, 1, 9))).isEqualTo(DayStatus.NON_WORKING_DAY);
+        verify(isDayOffClient, never()).getCalendarYearAsync(anyString(), anyInt());
+    }
+
+    @Test
+    void getCalendarYearAsync_withRegionWithoutOwnRules_shouldUseCountryRules() {
+        //When
+        CalendarYear calendarYear = provider.getCalendarYearAsync("ru-ta", 2026).join();
+
+        //Then
+        assertThat(calendarYear.getRegion()).isEqualTo("ru");
+        verify(isDayOffClient, never()).getCalendarYearAsync(anyString(), anyInt());
+    }
+
+    @Test
+    void countPaidDaysAsync_withYearWithoutLocalRules_shouldUseRemoteFallback() {
+        // Given
+        when(isDayOffClient.getCalendarYearOrFallbackAsync("ru", 2027))
+                .thenReturn(CompletableFuture.completedFuture(CalendarYear.weekendsOnly(2027)));
+
+        //When
+        int paidDays = provider.countPaidDaysAsync(LocalDate.of(2026, 12, 31), LocalDate.of(2027, 1, 2)).join().paidDays();
+
+        //Then
+        // 31 декабря 2026 рабочий день по локальным правилам, в приближенном календаре 2027 года праздников нет
+        assertThat(paidDays).isEqualTo(3);
+        verify(isDayOffClient, never()).getCalendarYearAsync(anyString(), anyInt());
+    }
+
+    @Test
+    void preload_shouldPassOnlyYearsWithoutLocalRulesToRemote() {
+        //When
+        provider.preload("ru", List.of(2026, 2027));
+
+        //Then
+        verify(isDayOffClient).preload("ru", List.of(2027));
+    }
+}
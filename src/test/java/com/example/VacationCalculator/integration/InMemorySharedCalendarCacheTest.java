@@ -0,0 +1,82 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.InMemorySharedCalendarCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.VacationCalculator.CalendarYears.workingYear;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySharedCalendarCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-01T10:00:00Z");
+
+    @Test
+    void getAll_shouldReturnOnlyStoredYearsOfCountry() {
+        // Given
+        InMemorySharedCalendarCache cache = new InMemorySharedCalendarCache(Duration.ofDays(1));
+        CalendarYear russia = workingYear("ru", 2026, LocalDate.of(2026, 1, 1));
+        cache.put(russia);
+        cache.put(workingYear("by", 2025, LocalDate.of(2025, 1, 1)));
+
+        //When
+        Map<Integer, CalendarYear> result = cache.getAll("ru", List.of(2025, 2026));
+
+        //Then
+        assertThat(result).containsOnlyKeys(2026);
+        assertThat(result.get(2026).getRegion()).isEqualTo("ru");
+        assertThat(result.get(2026).getStatus(LocalDate.of(2026, 1, 1))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(result.get(2026).fingerprint()).isEqualTo(russia.fingerprint());
+    }
+
+    @Test
+    void get_withExpiredEntry_shouldReturnEmpty() {
+        // Given
+        MutableClock clock = new MutableClock(NOW);
+        InMemorySharedCalendarCache cache = new InMemorySharedCalendarCache(Duration.ofDays(1), clock);
+        cache.put(workingYear("ru", 2026, LocalDate.of(2026, 1, 1)));
+
+        //When
+        clock.instant = NOW.plus(Duration.ofHours(23));
+        boolean freshPresent = cache.get("ru", 2026).isPresent();
+        clock.instant = NOW.plus(Duration.ofDays(1));
+        boolean expiredPresent = cache.get("ru", 2026).isPresent();
+
+        //Then
+        assertThat(freshPresent).isTrue();
+        assertThat(expiredPresent).isFalse();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
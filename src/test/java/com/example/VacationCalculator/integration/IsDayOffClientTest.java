@@ -1,9 +1,20 @@
 package com.example.VacationCalculator.integration;
 
+import com.vacation.config.IsDayOffProperties;
+import com.vacation.config.LocalCalendarProperties;
+import com.vacation.exception.CalendarUnavailableException;
 import com.vacation.exception.InvalidVacationRequestException;
+import com.vacation.integration.CalendarSnapshotStore;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.CircuitBreaker;
 import com.vacation.integration.DayInfo;
 import com.vacation.integration.DayStatus;
+import com.vacation.integration.InMemorySharedCalendarCache;
 import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.PaidDaysCount;
+import com.vacation.integration.RuleBasedCalendarProvider;
+import com.vacation.integration.SharedCalendarCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,16 +22,32 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,7 +61,7 @@ class IsDayOffClientTest {
 
     @BeforeEach
     void setUp() {
-        isDayOffClient = new IsDayOffClient(restTemplate);
+        isDayOffClient = IsDayOffClients.create(restTemplate);
     }
 
     @Test
@@ -42,11 +69,7 @@ class IsDayOffClientTest {
         // Given
         LocalDate startDate = LocalDate.of(2026, 2, 19);
         LocalDate endDate = LocalDate.of(2026, 2, 20);
-        String apiResponse = "0%0A0";
-
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260219&date2=20260220&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+        stubYear(2026, Map.of());
 
         //When
         Map<LocalDate, DayInfo> result = isDayOffClient.getDaysInfo(startDate, endDate);
@@ -69,11 +92,7 @@ class IsDayOffClientTest {
         // Given
         LocalDate startDate = LocalDate.of(2026, 2, 20);
         LocalDate endDate = LocalDate.of(2026, 2, 23);
-        String apiResponse = "0%0A1%0A1%0A8";
-
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260220&date2=20260223&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+        stubYear(2026, Map.of(endDate, 8));
 
         //When
         Map<LocalDate, DayInfo> result = isDayOffClient.getDaysInfo(startDate, endDate);
@@ -107,11 +126,11 @@ class IsDayOffClientTest {
     void getDaysInfo_withEmptyResponse_shouldThrowException() {
         // Given
         LocalDate localDate = LocalDate.of(2026, 2, 19);
-        String apiResponse = "";
+        byte[] apiResponse = "".getBytes(StandardCharsets.US_ASCII);
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenReturn(responseEntity);
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(RuntimeException.class).hasMessage("Пустой ответ от API");
@@ -121,11 +140,11 @@ class IsDayOffClientTest {
     void getDaysInfo_withApiError100_shouldThrowException() {
         // Given
         LocalDate localDate = LocalDate.of(2026, 2, 19);
-        String apiResponse = "100";
+        byte[] apiResponse = "100".getBytes(StandardCharsets.US_ASCII);
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenReturn(responseEntity);
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(RuntimeException.class).hasMessage("Ошибка API isdayoff.ru: 100");
@@ -135,11 +154,11 @@ class IsDayOffClientTest {
     void getDaysInfo_withApiError101_shouldThrowException() {
         // Given
         LocalDate localDate = LocalDate.of(2026, 2, 19);
-        String apiResponse = "101";
+        byte[] apiResponse = "101".getBytes(StandardCharsets.US_ASCII);
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenReturn(responseEntity);
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(RuntimeException.class).hasMessage("Ошибка API isdayoff.ru: 101");
@@ -149,11 +168,11 @@ class IsDayOffClientTest {
     void getDaysInfo_withApiError199_shouldThrowException() {
         // Given
         LocalDate localDate = LocalDate.of(2026, 2, 19);
-        String apiResponse = "199";
+        byte[] apiResponse = "199".getBytes(StandardCharsets.US_ASCII);
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenReturn(responseEntity);
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(RuntimeException.class).hasMessage("Ошибка API isdayoff.ru: 199");
@@ -163,11 +182,11 @@ class IsDayOffClientTest {
     void getDaysInfo_withInvalidStatusCode_shouldThrowException() {
         // Given
         LocalDate localDate = LocalDate.of(2026, 2, 19);
-        String apiResponse = "102";
+        byte[] apiResponse = "102".getBytes(StandardCharsets.US_ASCII);
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenReturn(responseEntity);
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(InvalidVacationRequestException.class).hasMessage("Неизвестный код статуса дня");
@@ -177,9 +196,8 @@ class IsDayOffClientTest {
     void getDaysInfo_withRestClientException_shouldThrowException() {
         // Given
         LocalDate localDate = LocalDate.of(2026, 2, 19);
-        String apiResponse = "102";
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenThrow(new RestClientException("Network error"));
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenThrow(new RestClientException("Network error"));
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(RuntimeException.class).hasMessage("Не удалось получить информацию о праздничных днях и выходных");
@@ -192,9 +210,9 @@ class IsDayOffClientTest {
         LocalDate localDate = LocalDate.of(2026, 2, 19);
 
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 
-        when(restTemplate.getForEntity(any(String.class), eq(String.class))).thenReturn(responseEntity);
+        when(restTemplate.getForEntity(any(String.class), eq(byte[].class))).thenReturn(responseEntity);
 
         //When & Then
         assertThatThrownBy(() -> isDayOffClient.getDaysInfo(localDate, localDate.plusDays(1))).isInstanceOf(RuntimeException.class).hasMessageStartingWith("Api вернул статус");
@@ -233,29 +251,47 @@ class IsDayOffClientTest {
     }
 
     @Test
-    void getDaysInfo_withPeriodExceedingMaxPeriodDays_shouldThrowException() {
+    void getDaysInfo_withPeriodExceedingMaxPeriodYears_shouldThrowException() {
         LocalDate startDate = LocalDate.of(2026, 2, 19);
 
-        int maxPeriodDays = IsDayOffClient.getMaxPeriodDays();
+        int maxPeriodYears = IsDayOffClient.getMaxPeriodYears();
 
-        LocalDate endDate = startDate.plusDays(maxPeriodDays);
+        LocalDate endDate = startDate.plusYears(maxPeriodYears);
 
 
-        assertThatThrownBy(() -> isDayOffClient.getDaysInfo(startDate, endDate)).isInstanceOf(IllegalArgumentException.class).hasMessage(String.format("Период не может превышать %d дней (запрошено: %d)",
-                maxPeriodDays, maxPeriodDays + 1));
+        assertThatThrownBy(() -> isDayOffClient.getDaysInfo(startDate, endDate)).isInstanceOf(IllegalArgumentException.class).hasMessage(String.format("Период не может охватывать больше %d лет (запрошено: %d)",
+                maxPeriodYears, maxPeriodYears + 1));
 
     }
 
+    @Test
+    void countPaidDays_withPeriodLongerThanYear_shouldCombineYearsWithOneCallPerYear() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 12, 30);
+        LocalDate endDate = LocalDate.of(2026, 1, 9);
+        stubYear(2024, Map.of());
+        stubYear(2025, Map.of());
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
+
+        //When
+        int result = isDayOffClient.countPaidDays(startDate, endDate);
+        int cachedResult = isDayOffClient.countPaidDays(startDate, endDate);
+
+        //Then
+        //2 дня 2024 года + 365 дней 2025 года + 9 дней 2026 года без 3 праздников
+        assertThat(result).isEqualTo(373);
+        assertThat(cachedResult).isEqualTo(result);
+        verify(restTemplate).getForEntity(yearUrl(2024), byte[].class);
+        verify(restTemplate).getForEntity(yearUrl(2025), byte[].class);
+        verify(restTemplate).getForEntity(yearUrl(2026), byte[].class);
+    }
+
     @Test
     void countPaidDays_withWorkingDays_shouldReturnCorrectCount() {
         // Given
         LocalDate startDate = LocalDate.of(2026, 2, 19); //четверг рабочий день
         LocalDate endDate = LocalDate.of(2026, 2, 20); //пятница рабочий день
-        String apiResponse = "0%0A0";
-
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260219&date2=20260220&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+        stubYear(2026, Map.of());
 
         //When
         int result = isDayOffClient.countPaidDays(startDate, endDate);
@@ -272,11 +308,7 @@ class IsDayOffClientTest {
         LocalDate startDate = LocalDate.of(2026, 2, 20);
         LocalDate endDate = LocalDate.of(2026, 2, 23);
         // пятница(рабочий день) суббота(выходной) воскресенье(выходной) понедельник(праздник)
-        String apiResponse = "0%0A1%0A1%0A8";
-
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260220&date2=20260223&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+        stubYear(2026, Map.of(endDate, 8));
 
         //When
         int result = isDayOffClient.countPaidDays(startDate, endDate);
@@ -293,11 +325,7 @@ class IsDayOffClientTest {
         LocalDate startDate = LocalDate.of(2026, 1, 1);
         LocalDate endDate = LocalDate.of(2026, 1, 3);
         // праздники новогодние
-        String apiResponse = "8%0A8%0A8";
-
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260101&date2=20260103&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
 
         //When
         int result = isDayOffClient.countPaidDays(startDate, endDate);
@@ -308,37 +336,127 @@ class IsDayOffClientTest {
     }
 
     @Test
-    void getDaysInfo_withSamePeriodCalledTwice_shouldUseCache(){
+    void countPaidDaysAsync_withUnavailableApi_shouldRetryAndFallBackToWeekends() {
         // Given
-        LocalDate startDate = LocalDate.of(2026, 1, 1);
-        LocalDate endDate = LocalDate.of(2026, 1, 3);
-        String apiResponse = "8%0A8%0A8";
+        LocalDate startDate = LocalDate.of(2026, 2, 20);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        when(restTemplate.getForEntity(yearUrl(2026), byte[].class)).thenThrow(new RestClientException("Read timed out"));
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        //When
+        PaidDaysCount result = isDayOffClient.countPaidDaysAsync(startDate, endDate).join();
 
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260101&date2=20260103&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+        //Then
+        // пятница и понедельник оплачиваются, праздник 23 февраля без календаря не учитывается
+        assertThat(result.paidDays()).isEqualTo(2);
+        assertThat(result.approximate()).isTrue();
+        verify(restTemplate, times(3)).getForEntity(yearUrl(2026), byte[].class);
+    }
+
+    @Test
+    void getCalendarYearAsync_withOpenCircuitBreaker_shouldFailWithoutCallingApi() {
+        // Given
+        IsDayOffProperties properties = IsDayOffClients.noBackoffProperties();
+        properties.getRetry().setMaxAttempts(1);
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        IsDayOffClient client = IsDayOffClients.builder(restTemplate).properties(properties).build();
+        when(restTemplate.getForEntity(yearUrl(2025), byte[].class)).thenThrow(new RestClientException("Connection refused"));
 
         //When
-        Map<LocalDate, DayInfo> result1 = isDayOffClient.getDaysInfo(startDate, endDate);
-        Map<LocalDate, DayInfo>  result2 = isDayOffClient.getDaysInfo(startDate, endDate);
+        CompletableFuture<CalendarYear> first = client.getCalendarYearAsync(2025);
+        CompletableFuture<CalendarYear> second = client.getCalendarYearAsync(2026);
 
         //Then
-        assertThat(result1).isEqualTo(result2);
+        assertThatThrownBy(first::join).cause().isInstanceOf(CalendarUnavailableException.class)
+                .hasMessage("Не удалось получить информацию о праздничных днях и выходных");
+        assertThatThrownBy(second::join).cause().isInstanceOf(CalendarUnavailableException.class)
+                .hasMessage("Сервис производственного календаря временно недоступен");
+        assertThat(client.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+        verify(restTemplate, never()).getForEntity(yearUrl(2026), byte[].class);
+    }
 
-        verify(restTemplate).getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260101&date2=20260103&delimeter=%0A"), eq(String.class));
+    @Test
+    void getCalendarYearAsync_withApiErrorCodeForYear_shouldNotOpenCircuitBreaker() {
+        // Given
+        IsDayOffProperties properties = IsDayOffClients.noBackoffProperties();
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        IsDayOffClient client = IsDayOffClients.builder(restTemplate).properties(properties).build();
+        when(restTemplate.getForEntity(yearUrl(1900), byte[].class))
+                .thenReturn(new ResponseEntity<>("101".getBytes(StandardCharsets.US_ASCII), HttpStatus.OK));
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
+
+        //When
+        CompletableFuture<CalendarYear> unknownYear = client.getCalendarYearAsync(1900);
+        CalendarYear knownYear = client.getCalendarYear(2026);
 
+        //Then
+        assertThatThrownBy(unknownYear::join).cause().hasMessage("Ошибка API isdayoff.ru: 101");
+        assertThat(knownYear.getStatus(LocalDate.of(2026, 1, 1))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(client.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        verify(restTemplate, times(1)).getForEntity(yearUrl(1900), byte[].class);
     }
 
     @Test
-    void getDaysInfo_withSamePeriodCalledTwice_shouldBeEqual(){
+    void getCalendarYearAsync_withClientError_shouldNotRetryOrOpenCircuitBreaker() {
         // Given
-        LocalDate startDate = LocalDate.of(2026, 1, 1);
-        LocalDate endDate = LocalDate.of(2026, 1, 3);
-        String apiResponse = "8%0A8%0A8";
+        IsDayOffProperties properties = IsDayOffClients.noBackoffProperties();
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        IsDayOffClient client = IsDayOffClients.builder(restTemplate).properties(properties).build();
+        when(restTemplate.getForEntity(yearUrl(2026), byte[].class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        //When
+        CompletableFuture<CalendarYear> result = client.getCalendarYearAsync(2026);
 
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        //Then
+        assertThatThrownBy(result::join).cause().isInstanceOf(CalendarUnavailableException.class);
+        assertThat(client.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        verify(restTemplate, times(1)).getForEntity(yearUrl(2026), byte[].class);
+    }
 
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260101&date2=20260103&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity);
+    @Test
+    void getCalendarYear_shouldRecordUpstreamAndCacheMetrics() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IsDayOffClient client = IsDayOffClients.builder(restTemplate).meterRegistry(meterRegistry).build();
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
+
+        //When
+        client.getCalendarYear(2026);
+        client.getCalendarYear(2026);
+
+        //Then
+        assertThat(meterRegistry.get("calendar.upstream.requests").tag("country", "ru").tag("outcome", "SUCCESS").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("calendar.cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("calendar.cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("calendar.cache.size").tag("country", "ru").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void getCalendarYearOrFallbackAsync_withUnavailableApi_shouldCountErrorsAndFallback() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IsDayOffProperties properties = IsDayOffClients.noBackoffProperties();
+        properties.getRetry().setMaxAttempts(1);
+        IsDayOffClient client = IsDayOffClients.builder(restTemplate).properties(properties).meterRegistry(meterRegistry).build();
+        when(restTemplate.getForEntity(yearUrl(2026), byte[].class)).thenThrow(new RestClientException("Connection refused"));
+
+        //When
+        client.getCalendarYearOrFallbackAsync(2026).join();
+
+        //Then
+        assertThat(meterRegistry.get("calendar.upstream.requests").tag("outcome", "ERROR")
+                .tag("exception", "RestClientException").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("calendar.upstream.errors").tag("reason", "network").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("calendar.fallbacks").tag("source", "weekends").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getDaysInfo_withSamePeriodCalledTwice_shouldUseCache(){
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 1, 1);
+        LocalDate endDate = LocalDate.of(2026, 1, 3);
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
 
         //When
         Map<LocalDate, DayInfo> result1 = isDayOffClient.getDaysInfo(startDate, endDate);
@@ -347,38 +465,254 @@ class IsDayOffClientTest {
         //Then
         assertThat(result1).isEqualTo(result2);
 
+        verify(restTemplate).getForEntity(eq(yearUrl(2026)), eq(byte[].class));
+
     }
 
     @Test
-    void getDaysInfo_withDifferentPeriods_shouldMakeSeparateCalls(){
+    void getDaysInfo_withDifferentPeriodsInSameYear_shouldMakeSingleCall(){
         // Given
         LocalDate startDate1 = LocalDate.of(2026, 1, 1);
         LocalDate endDate1 = LocalDate.of(2026, 1, 2);
-        String apiResponse1 = "8%0A8";
 
         LocalDate startDate2 = LocalDate.of(2026, 2, 1);
         LocalDate endDate2 = LocalDate.of(2026, 2, 2);
-        String apiResponse2 = "1%0A0";
-
-        ResponseEntity<String> responseEntity1 = new ResponseEntity<>(apiResponse1, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260101&date2=20260102&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity1);
 
-        ResponseEntity<String> responseEntity2 = new ResponseEntity<>(apiResponse2, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260201&date2=20260202&delimeter=%0A"), eq(String.class))).thenReturn(responseEntity2);
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
 
         //When
         Map<LocalDate, DayInfo> result1 = isDayOffClient.getDaysInfo(startDate1, endDate1);
         Map<LocalDate, DayInfo>  result2 = isDayOffClient.getDaysInfo(startDate2, endDate2);
 
         //Then
+        assertThat(result1).hasSize(2);
         assertThat(result1.get(startDate1).getStatus()).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(result2).hasSize(2);
+        // воскресенье выходной, понедельник рабочий день
         assertThat(result2.get(startDate2).getStatus()).isEqualTo(DayStatus.NON_WORKING_DAY);
+        assertThat(result2.get(endDate2).getStatus()).isEqualTo(DayStatus.WORKING_DAY);
+
+        verify(restTemplate).getForEntity(eq(yearUrl(2026)), eq(byte[].class));
+
+    }
+
+    @Test
+    void getDaysInfo_withPeriodSpanningTwoYears_shouldFetchEachYearOnce(){
+        // Given
+        LocalDate startDate = LocalDate.of(2025, 12, 30);
+        LocalDate endDate = LocalDate.of(2026, 1, 2);
+
+        stubYear(2025, Map.of());
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
+
+        //When
+        Map<LocalDate, DayInfo> result = isDayOffClient.getDaysInfo(startDate, endDate);
+        int paidDays = isDayOffClient.countPaidDays(startDate, endDate);
+
+        //Then
+        assertThat(result).hasSize(4);
+        assertThat(result.keySet()).containsExactly(startDate, startDate.plusDays(1), endDate.minusDays(1), endDate);
+        assertThat(paidDays).isEqualTo(2);
+
+        verify(restTemplate).getForEntity(eq(yearUrl(2025)), eq(byte[].class));
+        verify(restTemplate).getForEntity(eq(yearUrl(2026)), eq(byte[].class));
+
+    }
+
+    @Test
+    void getCalendarYearAsync_withUpstreamLimitReached_shouldFailWaitingRequest() throws InterruptedException {
+        // Given
+        IsDayOffProperties properties = IsDayOffClients.noBackoffProperties();
+        properties.setMaxConcurrentRequests(1);
+        properties.setPermitTimeout(Duration.ofMillis(50));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        IsDayOffClient limitedClient = IsDayOffClients.builder(restTemplate).properties(properties).fetchExecutor(executor).build();
+
+        CountDownLatch firstCallStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCall = new CountDownLatch(1);
+        when(restTemplate.getForEntity(yearUrl(2025), byte[].class)).thenAnswer(invocation -> {
+            firstCallStarted.countDown();
+            releaseFirstCall.await();
+            return new ResponseEntity<>(yearResponse(2025, Map.of()).getBytes(StandardCharsets.US_ASCII), HttpStatus.OK);
+        });
+
+        try {
+            //When
+            CompletableFuture<CalendarYear> first = limitedClient.getCalendarYearAsync(2025);
+            firstCallStarted.await();
+            CompletableFuture<CalendarYear> second = limitedClient.getCalendarYearAsync(2026);
+
+            //Then
+            assertThatThrownBy(second::join).cause().hasMessage("Превышено число одновременных запросов к API isdayoff.ru");
+            releaseFirstCall.countDown();
+            assertThat(first.join().getYear()).isEqualTo(2025);
+        } finally {
+            releaseFirstCall.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getCalendarYear_withDifferentCountries_shouldFetchAndCacheEachCountry() {
+        // Given
+        stubYear(2026, Map.of());
+        when(restTemplate.getForEntity(eq(yearUrl("by", 2026)), eq(byte[].class))).thenReturn(new ResponseEntity<>(
+                yearResponse(2026, Map.of(LocalDate.of(2026, 1, 7), 8)).getBytes(StandardCharsets.US_ASCII), HttpStatus.OK));
+
+        //When
+        CalendarYear russia = isDayOffClient.getCalendarYear(2026);
+        CalendarYear belarus = isDayOffClient.getCalendarYear("BY", 2026);
+        CalendarYear belarusRegion = isDayOffClient.getCalendarYear("by-hm", 2026);
+
+        //Then
+        assertThat(russia.getRegion()).isEqualTo("ru");
+        assertThat(russia.getStatus(LocalDate.of(2026, 1, 7))).isEqualTo(DayStatus.WORKING_DAY);
+        assertThat(belarus.getRegion()).isEqualTo("by");
+        assertThat(belarus.getStatus(LocalDate.of(2026, 1, 7))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(belarusRegion).isSameAs(belarus);
+        verify(restTemplate).getForEntity(eq(yearUrl("by", 2026)), eq(byte[].class));
+    }
+
+    @Test
+    void getCalendarYear_withUnsupportedCountry_shouldThrowException() {
+        //When & Then
+        assertThatThrownBy(() -> isDayOffClient.getCalendarYear("xx", 2026)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Календарь страны xx не поддерживается");
+    }
+
+    @Test
+    void getCalendarYear_withYearInSharedCache_shouldNotCallApi() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemorySharedCalendarCache sharedCache = new InMemorySharedCalendarCache(Duration.ofDays(1));
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
+        sharedClient(sharedCache, new SimpleMeterRegistry()).getCalendarYear(2026);
+        IsDayOffClient otherReplica = sharedClient(sharedCache, meterRegistry);
+
+        //When
+        CalendarYear result = otherReplica.getCalendarYear(2026);
+
+        //Then
+        assertThat(result.getStatus(LocalDate.of(2026, 1, 2))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(meterRegistry.get("calendar.shared-cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        verify(restTemplate, times(1)).getForEntity(yearUrl(2026), byte[].class);
+    }
+
+    @Test
+    void getCalendarYear_withYearMissingInSharedCache_shouldPutApiResult() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemorySharedCalendarCache sharedCache = new InMemorySharedCalendarCache(Duration.ofDays(1));
+        IsDayOffClient client = sharedClient(sharedCache, meterRegistry);
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
 
-        verify(restTemplate).getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260101&date2=20260102&delimeter=%0A"), eq(String.class));
-        verify(restTemplate).getForEntity(eq("https://isdayoff.ru/api/getdata?date1=20260201&date2=20260202&delimeter=%0A"), eq(String.class));
+        //When
+        CalendarYear result = client.getCalendarYear(2026);
+
+        //Then
+        assertThat(sharedCache.get("ru", 2026)).hasValueSatisfying(shared ->
+                assertThat(shared.fingerprint()).isEqualTo(result.fingerprint()));
+        assertThat(meterRegistry.get("calendar.shared-cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCalendarYear_withSameYearInSharedCacheAndSnapshot_shouldNotRewriteSnapshot() {
+        // Given
+        InMemorySharedCalendarCache sharedCache = new InMemorySharedCalendarCache(Duration.ofDays(1));
+        stubYear(2026, NEW_YEAR_HOLIDAYS_2026);
+        sharedClient(sharedCache, new SimpleMeterRegistry()).getCalendarYear(2026);
+        CalendarYear saved = sharedCache.get("ru", 2026).orElseThrow();
+        CalendarSnapshotStore snapshotStore = mock(CalendarSnapshotStore.class);
+        when(snapshotStore.find("ru", 2026)).thenReturn(Optional.of(saved));
+        IsDayOffClient otherReplica = IsDayOffClients.builder(restTemplate).sharedCache(sharedCache).snapshotStore(snapshotStore).build();
+
+        //When
+        CalendarYear result = otherReplica.getCalendarYear(2026);
+
+        //Then
+        assertThat(result.fingerprint()).isEqualTo(saved.fingerprint());
+        verify(snapshotStore, never()).save(any());
+    }
+
+    @Test
+    void preload_shouldMoveSharedYearsToCache() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemorySharedCalendarCache sharedCache = new InMemorySharedCalendarCache(Duration.ofDays(1));
+        DayStatus[] days = new DayStatus[365];
+        Arrays.fill(days, DayStatus.WORKING_DAY);
+        sharedCache.put(new CalendarYear("ru", 2025, days));
+        IsDayOffClient client = sharedClient(sharedCache, meterRegistry);
+
+        //When
+        client.preload("ru", List.of(2025, 2026));
+
+        //Then
+        assertThat(client.getCalendarYear(2025).size()).isEqualTo(365);
+        assertThat(meterRegistry.get("calendar.shared-cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("calendar.shared-cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+        verify(restTemplate, never()).getForEntity(yearUrl(2025), byte[].class);
+    }
+
+    private IsDayOffClient sharedClient(SharedCalendarCache sharedCache, SimpleMeterRegistry meterRegistry) {
+        return IsDayOffClients.builder(restTemplate).sharedCache(sharedCache).meterRegistry(meterRegistry).build();
+    }
+
+    @Test
+    void getCalendarYear_withSameYearInLocalRules_shouldMatchLocalCalendar() {
+        // Given
+        // ответ isdayoff.ru с holiday=1 за 2026 год: праздники по ст. 112 ТК РФ - 8, перенесенные выходные - 1
+        Map<LocalDate, Integer> official2026 = new HashMap<>();
+        for (int day = 1; day <= 8; day++) {
+            official2026.put(LocalDate.of(2026, 1, day), 8);
+        }
+        for (LocalDate holiday : List.of(LocalDate.of(2026, 2, 23), LocalDate.of(2026, 3, 8), LocalDate.of(2026, 5, 1),
+                LocalDate.of(2026, 5, 9), LocalDate.of(2026, 6, 12), LocalDate.of(2026, 11, 4))) {
+            official2026.put(holiday, 8);
+        }
+        for (LocalDate transfer : List.of(LocalDate.of(2026, 1, 9), LocalDate.of(2026, 3, 9), LocalDate.of(2026, 5, 11),
+                LocalDate.of(2026, 12, 31))) {
+            official2026.put(transfer, 1);
+        }
+        stubYear(2026, official2026);
+        RuleBasedCalendarProvider localProvider = new RuleBasedCalendarProvider(new LocalCalendarProperties());
+
+        //When
+        CalendarYear remote = isDayOffClient.getCalendarYear(2026);
+        CalendarYear local = localProvider.getCalendarYear(2026);
+
+        //Then
+        assertThat(remote.getStatus(LocalDate.of(2026, 2, 23))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(remote.countPaidDays()).isEqualTo(local.countPaidDays());
+        assertThat(remote.fingerprint()).isEqualTo(local.fingerprint());
+    }
+
+    private static final Map<LocalDate, Integer> NEW_YEAR_HOLIDAYS_2026 = Map.of(
+            LocalDate.of(2026, 1, 1), 8,
+            LocalDate.of(2026, 1, 2), 8,
+            LocalDate.of(2026, 1, 3), 8);
+
+    private static String yearUrl(int year) {
+        return yearUrl("ru", year);
+    }
+
+    private static String yearUrl(String country, int year) {
+        return String.format("https://isdayoff.ru/api/getdata?date1=%d0101&date2=%d1231&delimeter=%%0A&cc=%s&holiday=1", year, year, country);
+    }
+
+    // Ответ API за целый год: выходные по умолчанию, остальные дни рабочие
+    private static String yearResponse(int year, Map<LocalDate, Integer> overrides) {
+        StringJoiner joiner = new StringJoiner("%0A");
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            int defaultCode = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY ? 1 : 0;
+            joiner.add(String.valueOf(overrides.getOrDefault(date, defaultCode)));
+        }
+        return joiner.toString();
+    }
 
+    private void stubYear(int year, Map<LocalDate, Integer> overrides) {
+        ResponseEntity<byte[]> responseEntity = new ResponseEntity<>(yearResponse(year, overrides).getBytes(StandardCharsets.US_ASCII), HttpStatus.OK);
+        when(restTemplate.getForEntity(eq(yearUrl(year)), eq(byte[].class))).thenReturn(responseEntity);
     }
 
 
@@ -0,0 +1,78 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.config.CalendarCacheProperties;
+import com.vacation.config.IsDayOffProperties;
+import com.vacation.integration.CaffeineCalendarCache;
+import com.vacation.integration.CalendarSnapshotStore;
+import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.SharedCalendarCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Клиент isdayoff.ru для тестов: по умолчанию без снимка и общего кэша, без пауз между повторами,
+ * загрузки выполняются в вызывающем потоке.
+ */
+final class IsDayOffClients {
+
+    private final RestTemplate restTemplate;
+    private IsDayOffProperties properties = noBackoffProperties();
+    private CalendarSnapshotStore snapshotStore = CalendarSnapshotStore.disabled();
+    private SharedCalendarCache sharedCache = SharedCalendarCache.disabled();
+    private Executor fetchExecutor = Runnable::run;
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IsDayOffClients(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    static IsDayOffClient create(RestTemplate restTemplate) {
+        return builder(restTemplate).build();
+    }
+
+    static IsDayOffClients builder(RestTemplate restTemplate) {
+        return new IsDayOffClients(restTemplate);
+    }
+
+    //Свойства по умолчанию, но повторы без паузы, чтобы тесты не ждали реального backoff
+    static IsDayOffProperties noBackoffProperties() {
+        IsDayOffProperties properties = new IsDayOffProperties();
+        properties.getRetry().setInitialBackoff(Duration.ZERO);
+        return properties;
+    }
+
+    IsDayOffClients properties(IsDayOffProperties properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    IsDayOffClients snapshotStore(CalendarSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+        return this;
+    }
+
+    IsDayOffClients sharedCache(SharedCalendarCache sharedCache) {
+        this.sharedCache = sharedCache;
+        return this;
+    }
+
+    IsDayOffClients fetchExecutor(Executor fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+        return this;
+    }
+
+    IsDayOffClients meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    IsDayOffClient build() {
+        return new IsDayOffClient(restTemplate, properties,
+                loader -> new CaffeineCalendarCache(new CalendarCacheProperties(), loader), snapshotStore,
+                sharedCache, fetchExecutor, meterRegistry);
+    }
+}
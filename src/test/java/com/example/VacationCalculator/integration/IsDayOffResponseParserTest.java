@@ -0,0 +1,88 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.IsDayOffResponseParser;
+import com.vacation.integration.IsDayOffResponseParser.ParseResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsDayOffResponseParserTest {
+
+    @Test
+    void parse_withEncodedDelimiter_shouldDecodeAllDays() {
+        //When
+        ParseResult result = parse("8%0A1%0A0%0A2%0A4");
+
+        //Then
+        assertThat(result.hasError()).isFalse();
+        assertThat(result.calendarYear().size()).isEqualTo(5);
+        assertThat(result.calendarYear().getStatus(LocalDate.of(2026, 1, 1))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(result.calendarYear().getStatus(LocalDate.of(2026, 1, 2))).isEqualTo(DayStatus.NON_WORKING_DAY);
+        assertThat(result.calendarYear().getStatus(LocalDate.of(2026, 1, 3))).isEqualTo(DayStatus.WORKING_DAY);
+        assertThat(result.calendarYear().getStatus(LocalDate.of(2026, 1, 4))).isEqualTo(DayStatus.SHORTENED_DAY);
+        assertThat(result.calendarYear().getStatus(LocalDate.of(2026, 1, 5))).isEqualTo(DayStatus.WORKING_DAY_SPECIAL);
+    }
+
+    @Test
+    void parse_withNewlineDelimiterAndBlankLines_shouldDecodeAllDays() {
+        //When
+        ParseResult result = parse("8\r\n8\n\n 1 \n0\n");
+
+        //Then
+        assertThat(result.hasError()).isFalse();
+        assertThat(result.malformedTokens()).isZero();
+        assertThat(result.calendarYear().size()).isEqualTo(4);
+        assertThat(result.calendarYear().countPaidDays()).isEqualTo(2);
+    }
+
+    @Test
+    void parse_withMalformedTokens_shouldSkipAndCountThem() {
+        //When
+        ParseResult result = parse("0%0Aabc%0A1%0A12345%0A0");
+
+        //Then
+        assertThat(result.hasError()).isFalse();
+        assertThat(result.malformedTokens()).isEqualTo(2);
+        assertThat(result.calendarYear().size()).isEqualTo(3);
+    }
+
+    @Test
+    void parse_withApiErrorCode_shouldReportError() {
+        //When
+        ParseResult result = parse("101");
+
+        //Then
+        assertThat(result.hasError()).isTrue();
+        assertThat(result.errorCode()).isEqualTo(101);
+    }
+
+    @Test
+    void parse_withUnknownDayCode_shouldReportError() {
+        //When
+        ParseResult result = parse("0%0A3");
+
+        //Then
+        assertThat(result.errorCode()).isEqualTo(3);
+    }
+
+    @Test
+    void parse_withMoreDaysThanInYear_shouldIgnoreExtraDays() {
+        // Given
+        String body = "0\n".repeat(367);
+
+        //When
+        ParseResult result = IsDayOffResponseParser.parse(2026, body.getBytes(StandardCharsets.US_ASCII));
+
+        //Then
+        assertThat(result.calendarYear().size()).isEqualTo(365);
+        assertThat(result.ignoredDays()).isEqualTo(2);
+    }
+
+    private static ParseResult parse(String body) {
+        return IsDayOffResponseParser.parse(2026, body.getBytes(StandardCharsets.US_ASCII));
+    }
+}
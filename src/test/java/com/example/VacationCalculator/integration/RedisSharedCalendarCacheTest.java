@@ -0,0 +1,115 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.config.SharedCalendarCacheProperties;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.RedisSharedCalendarCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.VacationCalculator.CalendarYears.workingYear;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSharedCalendarCacheTest {
+
+    @Mock
+    private RedisOperations<String, byte[]> redis;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private SharedCalendarCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        properties = new SharedCalendarCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getAll_shouldReadYearsWrittenByAnotherReplicaWithOneCommand() {
+        // Given
+        CalendarYear calendarYear = workingYear(2026, LocalDate.of(2026, 1, 1));
+        new RedisSharedCalendarCache(redis, properties, meterRegistry).put(calendarYear);
+        ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+        verify(valueOperations).set(eq("vacation:calendar:ru:2026"), value.capture(), eq(Duration.ofDays(1)));
+        List<String> keys = List.of("vacation:calendar:ru:2025", "vacation:calendar:ru:2026", "vacation:calendar:ru:2027");
+        when(valueOperations.multiGet(keys)).thenReturn(Arrays.asList(null, value.getValue(), null));
+
+        //When
+        Map<Integer, CalendarYear> result = new RedisSharedCalendarCache(redis, properties, meterRegistry)
+                .getAll("ru", List.of(2025, 2026, 2027));
+
+        //Then
+        assertThat(result).containsOnlyKeys(2026);
+        assertThat(result.get(2026).getStatus(LocalDate.of(2026, 1, 1))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(result.get(2026).fingerprint()).isEqualTo(calendarYear.fingerprint());
+        verify(valueOperations, times(1)).multiGet(anyList());
+    }
+
+    @Test
+    void getAll_withUnavailableServer_shouldReturnEmptyAndStopCallingAfterThreshold() {
+        // Given
+        properties.getRedis().setFailureThreshold(2);
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        RedisSharedCalendarCache cache = new RedisSharedCalendarCache(redis, properties, meterRegistry);
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.getAll("ru", List.of(2026))).isEmpty();
+        }
+        cache.put(workingYear(2026, LocalDate.of(2026, 1, 1)));
+
+        //Then
+        verify(valueOperations, times(2)).multiGet(anyList());
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+        assertThat(meterRegistry.get("calendar.shared-cache.errors").tag("operation", "get").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("calendar.shared-cache.errors").tag("operation", "put").counter()).isNull();
+    }
+
+    @Test
+    void getAll_withCorruptEntry_shouldTreatEntryAsMiss() {
+        // Given
+        new RedisSharedCalendarCache(redis, properties, meterRegistry).put(workingYear(2026, LocalDate.of(2026, 1, 1)));
+        ArgumentCaptor<byte[]> value = ArgumentCaptor.forClass(byte[].class);
+        verify(valueOperations).set(eq("vacation:calendar:ru:2026"), value.capture(), eq(Duration.ofDays(1)));
+        //Версия 1 байт, регион 2 + 2 байта, момент загрузки 8 байт и год 4 байта, дальше число дней: 400 вместо 365
+        byte[] corrupt = Arrays.copyOf(value.getValue(), value.getValue().length + 35);
+        corrupt[17] = 0x01;
+        corrupt[18] = (byte) 0x90;
+        when(valueOperations.multiGet(List.of("vacation:calendar:ru:2026"))).thenReturn(List.of(corrupt));
+
+        //When
+        Map<Integer, CalendarYear> result = new RedisSharedCalendarCache(redis, properties, meterRegistry)
+                .getAll("ru", List.of(2026));
+
+        //Then
+        assertThat(result).isEmpty();
+        assertThat(meterRegistry.find("calendar.shared-cache.errors").counter()).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.config.LocalCalendarProperties;
+import com.vacation.exception.CalendarUnavailableException;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.RuleBasedCalendarProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuleBasedCalendarProviderTest {
+
+    private final RuleBasedCalendarProvider provider = new RuleBasedCalendarProvider(new LocalCalendarProperties());
+
+    @Test
+    void getCalendarYear_withTransfersTable_shouldApplyHolidaysAndTransfers() {
+        //When
+        CalendarYear calendarYear = provider.getCalendarYear(2024);
+
+        //Then
+        assertThat(calendarYear.getStatus(LocalDate.of(2024, 1, 7))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(calendarYear.getStatus(LocalDate.of(2024, 2, 23))).isEqualTo(DayStatus.HOLIDAY);
+        // рабочая суббота
+        assertThat(calendarYear.getStatus(LocalDate.of(2024, 4, 27))).isEqualTo(DayStatus.WORKING_DAY);
+        // перенесенный выходной
+        assertThat(calendarYear.getStatus(LocalDate.of(2024, 4, 29))).isEqualTo(DayStatus.NON_WORKING_DAY);
+        assertThat(calendarYear.getStatus(LocalDate.of(2024, 6, 15))).isEqualTo(DayStatus.NON_WORKING_DAY);
+        assertThat(calendarYear.getStatus(LocalDate.of(2024, 6, 17))).isEqualTo(DayStatus.WORKING_DAY);
+        assertThat(calendarYear.isApproximate()).isFalse();
+    }
+
+    @Test
+    void countPaidDays_withNewYearHolidays_shouldExcludeOnlyHolidays() {
+        //When
+        int paidDays = provider.countPaidDays(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 11));
+
+        //Then
+        // 1-8 января праздники, 9 января перенесенный выходной, 10-11 января выходные
+        assertThat(paidDays).isEqualTo(3);
+    }
+
+    @Test
+    void countPaidDays_withPeriodSpanningTwoYears_shouldSumBothYears() {
+        //When
+        int paidDays = provider.countPaidDays(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 9));
+
+        //Then
+        assertThat(paidDays).isEqualTo(3);
+    }
+
+    @Test
+    void getCalendarYearAsync_withYearWithoutRules_shouldFail() {
+        //When & Then
+        assertThat(provider.supports("ru", 2030)).isFalse();
+        assertThatThrownBy(() -> provider.getCalendarYear(2030)).isInstanceOf(CalendarUnavailableException.class)
+                .hasMessage("Нет локальных правил производственного календаря (ru) на 2030 год");
+    }
+
+    @Test
+    void getCalendarYear_withRegionalHoliday_shouldKeepFederalRules() {
+        // Given
+        RuleBasedCalendarProvider regionalProvider = new RuleBasedCalendarProvider("ru-ta",
+                Map.of(LocalDate.of(2026, 8, 30), DayStatus.HOLIDAY));
+
+        //When
+        CalendarYear calendarYear = regionalProvider.getCalendarYear("ru-ta", 2026);
+
+        //Then
+        assertThat(calendarYear.getStatus(LocalDate.of(2026, 8, 30))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(calendarYear.getStatus(LocalDate.of(2026, 6, 12))).isEqualTo(DayStatus.HOLIDAY);
+        assertThat(regionalProvider.supports("ru", 2026)).isFalse();
+    }
+
+    @Test
+    void supports_withDisabledLocalCalendar_shouldSupportNoYears() {
+        // Given
+        LocalCalendarProperties properties = new LocalCalendarProperties();
+        properties.setEnabled(false);
+
+        //When & Then
+        assertThat(new RuleBasedCalendarProvider(properties).supports("ru", 2026)).isFalse();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.VacationCalculator.integration;
+
+import com.vacation.integration.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_withConcurrentCallsForSameKey_shouldRunActionOnce() throws Exception {
+        // Given
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        //When
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(singleFlight.execute(2026, () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "2026";
+            }, executor));
+        }
+        release.countDown();
+
+        //Then
+        for (CompletableFuture<String> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("2026");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_withDifferentKeys_shouldRunActionPerKey() throws Exception {
+        // Given
+        SingleFlight<Integer, Integer> singleFlight = new SingleFlight<>();
+
+        //When
+        CompletableFuture<Integer> first = singleFlight.execute(2025, () -> 2025, executor);
+        CompletableFuture<Integer> second = singleFlight.execute(2026, () -> 2026, executor);
+
+        //Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(2025);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(2026);
+    }
+
+    @Test
+    void execute_afterFailure_shouldAllowRetry() {
+        // Given
+        SingleFlight<Integer, Integer> singleFlight = new SingleFlight<>();
+
+        //When
+        CompletableFuture<Integer> failed = singleFlight.execute(2026, () -> {
+            throw new RuntimeException("Ошибка");
+        }, Runnable::run);
+        CompletableFuture<Integer> retried = singleFlight.execute(2026, () -> 2026, Runnable::run);
+
+        //Then
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(RuntimeException.class);
+        assertThat(retried.join()).isEqualTo(2026);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.VacationCalculator.service;
+
+import com.vacation.exception.EarningsStoreFullException;
+import com.vacation.exception.EmployeeNotFoundException;
+import com.vacation.exception.InvalidVacationRequestException;
+import com.vacation.model.request.DateRange;
+import com.vacation.model.request.MonthlyEarningsRequest;
+import com.vacation.model.response.AverageEarningsResponse;
+import com.vacation.service.AverageEarningsService;
+import com.vacation.service.InMemoryEarningsWindowStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AverageEarningsServiceTest {
+
+    private AverageEarningsService averageEarningsService;
+
+    @BeforeEach
+    void setUp() {
+        averageEarningsService = new AverageEarningsService(new InMemoryEarningsWindowStore(100));
+    }
+
+    @Test
+    void closeMonth_withFullMonths_shouldAverageOver293DaysPerMonth() {
+        // Given
+        closeMonths("emp-1", YearMonth.of(2025, 1), 12, new BigDecimal("100000"));
+
+        //When
+        AverageEarningsResponse summary = averageEarningsService.getSummary("emp-1");
+
+        //Then
+        assertThat(summary.getMonths()).isEqualTo(12);
+        assertThat(summary.getTotalEarnings()).isEqualByComparingTo("1200000");
+        assertThat(summary.getCountedDays()).isEqualByComparingTo("351.6");
+        assertThat(summary.getDailyAverage()).isEqualByComparingTo("3412.9692832765");
+    }
+
+    @Test
+    void closeMonth_afterTwelveMonths_shouldEvictOldestMonth() {
+        // Given
+        averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 1), earnings("500000"));
+        closeMonths("emp-1", YearMonth.of(2025, 2), 11, new BigDecimal("100000"));
+
+        //When
+        AverageEarningsResponse summary = averageEarningsService.closeMonth("emp-1", YearMonth.of(2026, 1), earnings("100000"));
+
+        //Then
+        assertThat(summary.getMonths()).isEqualTo(12);
+        assertThat(summary.getLastMonth()).isEqualTo(YearMonth.of(2026, 1));
+        assertThat(summary.getTotalEarnings()).isEqualByComparingTo("1200000");
+    }
+
+    @Test
+    void closeMonth_afterGapInMonths_shouldEvictMonthsOutsideWindow() {
+        // Given
+        closeMonths("emp-1", YearMonth.of(2024, 1), 12, new BigDecimal("100000"));
+
+        //When
+        AverageEarningsResponse summary = averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 6), earnings("50000"));
+
+        //Then
+        assertThat(summary.getMonths()).isEqualTo(7);
+        assertThat(summary.getTotalEarnings()).isEqualByComparingTo("650000");
+    }
+
+    @Test
+    void closeMonth_withExcludedPeriods_shouldCountOnlyWorkedDays() {
+        // Given
+        MonthlyEarningsRequest request = new MonthlyEarningsRequest(new BigDecimal("50000"), List.of(
+                new DateRange(LocalDate.of(2025, 3, 25), LocalDate.of(2025, 4, 10)),
+                new DateRange(LocalDate.of(2025, 4, 5), LocalDate.of(2025, 4, 15))));
+
+        //When
+        AverageEarningsResponse summary = averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 4), request);
+
+        //Then
+        //Исключены 1-15 апреля: 29.3 / 30 * 15
+        assertThat(summary.getCountedDays()).isEqualByComparingTo("14.65");
+        assertThat(summary.getDailyAverage()).isEqualByComparingTo("3412.9692832765");
+    }
+
+    @Test
+    void closeMonth_withCorrectionInsideWindow_shouldReplaceMonth() {
+        // Given
+        closeMonths("emp-1", YearMonth.of(2025, 1), 3, new BigDecimal("100000"));
+
+        //When
+        AverageEarningsResponse summary = averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 2), earnings("70000"));
+
+        //Then
+        assertThat(summary.getMonths()).isEqualTo(3);
+        assertThat(summary.getLastMonth()).isEqualTo(YearMonth.of(2025, 3));
+        assertThat(summary.getTotalEarnings()).isEqualByComparingTo("270000");
+    }
+
+    @Test
+    void closeMonth_withMonthOutsideWindow_shouldThrowException() {
+        // Given
+        averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 12), earnings("100000"));
+
+        //When & Then
+        assertThatThrownBy(() -> averageEarningsService.closeMonth("emp-1", YearMonth.of(2024, 12), earnings("100000")))
+                .isInstanceOf(InvalidVacationRequestException.class);
+    }
+
+    @Test
+    void getDailyAverage_withoutWorkedDays_shouldThrowException() {
+        // Given
+        averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 2), new MonthlyEarningsRequest(BigDecimal.ZERO,
+                List.of(new DateRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)))));
+
+        //When & Then
+        assertThat(averageEarningsService.getSummary("emp-1").getDailyAverage()).isNull();
+        assertThatThrownBy(() -> averageEarningsService.getDailyAverage("emp-1"))
+                .isInstanceOf(InvalidVacationRequestException.class)
+                .hasMessage("В расчетном периоде нет отработанных дней");
+        assertThatThrownBy(() -> averageEarningsService.getDailyAverage("emp-2"))
+                .isInstanceOf(EmployeeNotFoundException.class)
+                .hasMessage("Нет начислений сотрудника emp-2");
+    }
+
+    @Test
+    void closeMonth_withFullInMemoryStore_shouldRejectNewEmployeeOnly() {
+        // Given
+        averageEarningsService = new AverageEarningsService(new InMemoryEarningsWindowStore(1));
+        averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 1), earnings("100000"));
+
+        //When
+        AverageEarningsResponse summary = averageEarningsService.closeMonth("emp-1", YearMonth.of(2025, 2), earnings("100000"));
+
+        //Then
+        assertThat(summary.getMonths()).isEqualTo(2);
+        assertThatThrownBy(() -> averageEarningsService.closeMonth("emp-2", YearMonth.of(2025, 1), earnings("100000")))
+                .isInstanceOf(EarningsStoreFullException.class)
+                .hasMessage("Хранилище начислений заполнено: не больше 1 сотрудников");
+    }
+
+    @Test
+    void closeMonth_withConcurrentNewEmployees_shouldNotExceedStoreLimit() throws InterruptedException {
+        // Given
+        averageEarningsService = new AverageEarningsService(new InMemoryEarningsWindowStore(10));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger rejected = new AtomicInteger();
+
+        //When
+        for (int i = 0; i < 50; i++) {
+            String employeeId = "emp-" + i;
+            executor.execute(() -> {
+                try {
+                    averageEarningsService.closeMonth(employeeId, YearMonth.of(2025, 1), earnings("100000"));
+                } catch (EarningsStoreFullException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+
+        //Then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(rejected.get()).isEqualTo(40);
+    }
+
+    private void closeMonths(String employeeId, YearMonth first, int count, BigDecimal monthEarnings) {
+        for (int i = 0; i < count; i++) {
+            averageEarningsService.closeMonth(employeeId, first.plusMonths(i), new MonthlyEarningsRequest(monthEarnings, null));
+        }
+    }
+
+    private static MonthlyEarningsRequest earnings(String amount) {
+        return new MonthlyEarningsRequest(new BigDecimal(amount), null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.VacationCalculator.service;
+
+import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.VacationBatchItemResponse;
+import com.vacation.service.BulkCalculationService;
+import com.vacation.service.BulkCalculationStats;
+import com.vacation.service.BulkFormat;
+import com.vacation.service.VacationBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCalculationServiceTest {
+    @Mock
+    private VacationBatchService vacationBatchService;
+
+    private BulkCalculationService bulkCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        bulkCalculationService = new BulkCalculationService(vacationBatchService, JsonMapper.builder().build());
+    }
+
+    @Test
+    void process_withCsvRows_shouldWriteResultPerRow() throws IOException {
+        // Given
+        String input = """
+                averageSalary,vacationDays,vacationDateStart,vacationDateEnd
+                10000,28,,
+                10000,2,2026-02-22,2026-02-23
+                abc,1
+                """;
+        when(vacationBatchService.calculateItem(0, new VacationRequest(new BigDecimal("10000"), 28, null, null)))
+                .thenReturn(VacationBatchItemResponse.success(0, new BigDecimal("9556.31")));
+        when(vacationBatchService.calculateItem(1, new VacationRequest(new BigDecimal("10000"), 2,
+                LocalDate.of(2026, 2, 22), LocalDate.of(2026, 2, 23))))
+                .thenReturn(VacationBatchItemResponse.failure(1, "Несоответствие количества дней и дат"));
+        StringWriter output = new StringWriter();
+
+        //When
+        BulkCalculationStats stats = bulkCalculationService.process(new BufferedReader(new StringReader(input)), output, BulkFormat.CSV);
+
+        //Then
+        assertThat(output.toString()).isEqualTo("""
+                index,vacationPay,approximateCalendar,error
+                0,9556.31,,
+                1,,,"Несоответствие количества дней и дат"
+                2,,,"Некорректная строка: abc,1"
+                """);
+        assertThat(stats.rows()).isEqualTo(3);
+        assertThat(stats.failedRows()).isEqualTo(2);
+    }
+
+    @Test
+    void process_withApproximateCalendar_shouldFlagRow() throws IOException {
+        // Given
+        VacationRequest request = new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 22), LocalDate.of(2026, 2, 23));
+        when(vacationBatchService.calculateItem(0, request))
+                .thenReturn(new VacationBatchItemResponse(0, new BigDecimal("682.59"), true, null));
+        StringWriter output = new StringWriter();
+
+        //When
+        bulkCalculationService.process(new BufferedReader(new StringReader("10000,2,2026-02-22,2026-02-23\n")), output, BulkFormat.CSV);
+
+        //Then
+        assertThat(output.toString()).isEqualTo("""
+                index,vacationPay,approximateCalendar,error
+                0,682.59,true,
+                """);
+    }
+
+    @Test
+    void process_withNdjsonRows_shouldWriteJsonPerRow() throws IOException {
+        // Given
+        String input = """
+                {"averageSalary":10000,"vacationDays":28}
+
+                not json
+                """;
+        when(vacationBatchService.calculateItem(eq(0), eq(new VacationRequest(new BigDecimal("10000"), 28, null, null))))
+                .thenReturn(VacationBatchItemResponse.success(0, new BigDecimal("9556.31")));
+        StringWriter output = new StringWriter();
+
+        //When
+        BulkCalculationStats stats = bulkCalculationService.process(new BufferedReader(new StringReader(input)), output, BulkFormat.NDJSON);
+
+        //Then
+        assertThat(output.toString().lines()).containsExactly(
+                "{\"index\":0,\"vacationPay\":9556.31}",
+                "{\"index\":1,\"error\":\"Некорректная строка: not json\"}");
+        assertThat(stats.rows()).isEqualTo(2);
+        assertThat(stats.failedRows()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.VacationCalculator.service;
+
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.DayStatus;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.model.request.DateRange;
+import com.vacation.model.request.PaidDaysRequest;
+import com.vacation.model.response.CalendarDayResponse;
+import com.vacation.model.response.PaidDaysResponse;
+import com.vacation.service.CalendarQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.VacationCalculator.CalendarYears.workingYear;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarQueryServiceTest {
+
+    @Mock
+    private HolidayCalendarProvider calendarProvider;
+
+    private CalendarQueryService calendarQueryService;
+
+    @BeforeEach
+    void setUp() {
+        calendarQueryService = new CalendarQueryService(calendarProvider, 100);
+    }
+
+    @Test
+    void countPaidDays_withManyRanges_shouldLoadEachYearOnce() {
+        // Given
+        PaidDaysRequest request = new PaidDaysRequest(null, List.of(
+                new DateRange(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 2)),
+                new DateRange(LocalDate.of(2026, 2, 20), LocalDate.of(2026, 2, 23)),
+                new DateRange(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 2))));
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2025))
+                .thenReturn(CompletableFuture.completedFuture(workingYear(2025)));
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2026))
+                .thenReturn(CompletableFuture.completedFuture(workingYear(2026, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 23))));
+
+        //When
+        List<PaidDaysResponse> result = calendarQueryService.countPaidDays(request).join();
+
+        //Then
+        assertThat(result).extracting(PaidDaysResponse::getPaidDays).containsExactly(4, 3, 1);
+        assertThat(result).extracting(PaidDaysResponse::getApproximateCalendar).containsOnlyNulls();
+        verify(calendarProvider).getCalendarYearOrFallbackAsync("ru", 2025);
+        verify(calendarProvider).getCalendarYearOrFallbackAsync("ru", 2026);
+    }
+
+    @Test
+    void countPaidDays_withApproximateCalendar_shouldFlagRange() {
+        // Given
+        PaidDaysRequest request = new PaidDaysRequest("BY", List.of(
+                new DateRange(LocalDate.of(2026, 2, 20), LocalDate.of(2026, 2, 23))));
+        when(calendarProvider.getCalendarYearOrFallbackAsync("by", 2026))
+                .thenReturn(CompletableFuture.completedFuture(CalendarYear.weekendsOnly("by", 2026)));
+
+        //When
+        List<PaidDaysResponse> result = calendarQueryService.countPaidDays(request).join();
+
+        //Then
+        assertThat(result.getFirst().getPaidDays()).isEqualTo(4);
+        assertThat(result.getFirst().getApproximateCalendar()).isTrue();
+    }
+
+    @Test
+    void countPaidDays_withEndBeforeStart_shouldThrowException() {
+        // Given
+        PaidDaysRequest request = new PaidDaysRequest(null, List.of(
+                new DateRange(LocalDate.of(2026, 2, 20), LocalDate.of(2026, 2, 23)),
+                new DateRange(LocalDate.of(2026, 2, 23), LocalDate.of(2026, 2, 20))));
+
+        //When & Then
+        assertThatThrownBy(() -> calendarQueryService.countPaidDays(request)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Период 1: дата конца раньше даты начала");
+    }
+
+    @Test
+    void countPaidDays_withRangesOverMaxYears_shouldThrowException() {
+        // Given
+        PaidDaysRequest request = new PaidDaysRequest(null, List.of(
+                new DateRange(LocalDate.of(1926, 2, 20), LocalDate.of(1926, 2, 23)),
+                new DateRange(LocalDate.of(2026, 2, 20), LocalDate.of(2026, 2, 23))));
+
+        //When & Then
+        assertThatThrownBy(() -> calendarQueryService.countPaidDays(request)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Периоды запроса не могут охватывать больше 100 календарных лет");
+    }
+
+    @Test
+    void countPaidDays_withTooManyRanges_shouldThrowException() {
+        // Given
+        DateRange range = new DateRange(LocalDate.of(2026, 2, 20), LocalDate.of(2026, 2, 23));
+        PaidDaysRequest request = new PaidDaysRequest(null, Collections.nCopies(101, range));
+
+        //When & Then
+        assertThatThrownBy(() -> calendarQueryService.countPaidDays(request)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Запрос не может содержать больше 100 периодов");
+    }
+
+    @Test
+    void getDays_shouldReturnStatusOfEveryDay() {
+        // Given
+        when(calendarProvider.getCalendarYearAsync("ru", 2026))
+                .thenReturn(CompletableFuture.completedFuture(workingYear(2026, LocalDate.of(2026, 2, 23))));
+
+        //When
+        List<CalendarDayResponse> result = calendarQueryService.getDays(null, LocalDate.of(2026, 2, 22), LocalDate.of(2026, 2, 23)).join();
+
+        //Then
+        assertThat(result).extracting(CalendarDayResponse::getDate)
+                .containsExactly(LocalDate.of(2026, 2, 22), LocalDate.of(2026, 2, 23));
+        assertThat(result).extracting(CalendarDayResponse::getStatus).containsExactly(DayStatus.WORKING_DAY, DayStatus.HOLIDAY);
+        assertThat(result).extracting(CalendarDayResponse::isPaidDay).containsExactly(true, false);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.VacationCalculator.service;
+
+import com.vacation.service.EarningsWindow;
+import com.vacation.service.RedisEarningsWindowStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisEarningsWindowStoreTest {
+
+    @Mock
+    private RedisOperations<String, String> redis;
+
+    @Mock
+    private HashOperations<String, String, String> hashOperations;
+
+    //Содержимое хеша одного сотрудника в Redis
+    private final Map<String, String> hash = new HashMap<>();
+
+    //Команды между MULTI и EXEC; применяются при EXEC, если ключ не изменился
+    private final List<Runnable> queued = new ArrayList<>();
+
+    //Изменения другой реплики, которые произойдут между WATCH и EXEC
+    private final List<Runnable> concurrentChanges = new ArrayList<>();
+
+    private RedisEarningsWindowStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(redis.<String, String>opsForHash()).thenReturn(hashOperations);
+        lenient().when(redis.execute(any(SessionCallback.class)))
+                .thenAnswer(invocation -> invocation.<SessionCallback<?>>getArgument(0).execute(redis));
+        lenient().when(hashOperations.entries("vacation:earnings:emp-1")).thenAnswer(invocation -> new HashMap<>(hash));
+        lenient().doAnswer(invocation -> queued.add(() -> hash.put(invocation.getArgument(1), invocation.getArgument(2))))
+                .when(hashOperations).put(eq("vacation:earnings:emp-1"), anyString(), anyString());
+        lenient().when(hashOperations.delete(eq("vacation:earnings:emp-1"), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] fields = Arrays.copyOfRange(invocation.getArguments(), 1, invocation.getArguments().length);
+            queued.add(() -> Arrays.stream(fields).forEach(hash::remove));
+            return null;
+        });
+        lenient().when(redis.exec()).thenAnswer(invocation -> {
+            List<Object> results = new ArrayList<>();
+            if (concurrentChanges.isEmpty()) {
+                queued.forEach(command -> {
+                    command.run();
+                    results.add(1L);
+                });
+            } else {
+                concurrentChanges.removeFirst().run();
+            }
+            queued.clear();
+            return results;
+        });
+        store = new RedisEarningsWindowStore(redis, "vacation:earnings");
+    }
+
+    @Test
+    void closeMonth_shouldStoreMonthsAndRestoreTotalsOnAnotherReplica() {
+        // Given
+        store.closeMonth("emp-1", YearMonth.of(2025, 1), new BigDecimal("100000"), new BigDecimal("29.3"));
+        store.closeMonth("emp-1", YearMonth.of(2025, 2), new BigDecimal("50000"), new BigDecimal("14.65"));
+
+        //When
+        Optional<EarningsWindow.Totals> totals = new RedisEarningsWindowStore(redis, "vacation:earnings").totals("emp-1");
+
+        //Then
+        assertThat(hash).containsOnlyKeys("2025-01", "2025-02");
+        assertThat(totals).isPresent();
+        assertThat(totals.get().lastMonth()).isEqualTo(YearMonth.of(2025, 2));
+        assertThat(totals.get().months()).isEqualTo(2);
+        assertThat(totals.get().earnings()).isEqualByComparingTo("150000");
+        assertThat(totals.get().countedDays()).isEqualByComparingTo("43.95");
+    }
+
+    @Test
+    void closeMonth_afterWindowMoves_shouldDeleteMonthsOutsideWindow() {
+        // Given
+        for (int i = 0; i < 12; i++) {
+            store.closeMonth("emp-1", YearMonth.of(2024, 1).plusMonths(i), new BigDecimal("100000"), new BigDecimal("29.3"));
+        }
+
+        //When
+        EarningsWindow.Totals totals = store.closeMonth("emp-1", YearMonth.of(2025, 3), new BigDecimal("100000"), new BigDecimal("29.3"));
+
+        //Then
+        assertThat(totals.months()).isEqualTo(10);
+        assertThat(hash).hasSize(10).doesNotContainKeys("2024-01", "2024-02", "2024-03").containsKey("2025-03");
+    }
+
+    @Test
+    void closeMonth_withConcurrentChangeOnAnotherReplica_shouldRetryWithFreshMonths() {
+        // Given
+        store.closeMonth("emp-1", YearMonth.of(2025, 1), new BigDecimal("100000"), new BigDecimal("29.3"));
+        concurrentChanges.add(() -> hash.put("2025-02", "50000;14.65"));
+
+        //When
+        EarningsWindow.Totals totals = store.closeMonth("emp-1", YearMonth.of(2025, 3), new BigDecimal("100000"), new BigDecimal("29.3"));
+
+        //Then
+        assertThat(hash).containsOnlyKeys("2025-01", "2025-02", "2025-03");
+        assertThat(totals.months()).isEqualTo(3);
+        assertThat(totals.earnings()).isEqualByComparingTo("250000");
+        verify(redis, times(3)).watch("vacation:earnings:emp-1");
+    }
+
+    @Test
+    void totals_withoutEarnings_shouldReturnEmpty() {
+        //When & Then
+        assertThat(store.totals("emp-1")).isEmpty();
+    }
+}
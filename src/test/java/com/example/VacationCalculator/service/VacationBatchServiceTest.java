@@ -0,0 +1,200 @@
+package com.example.VacationCalculator.service;
+
+import com.vacation.config.VacationResultCacheProperties;
+import com.vacation.exception.InvalidVacationRequestException;
+import com.vacation.integration.CalendarYear;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.integration.PaidDaysCount;
+import com.vacation.model.request.VacationRequest;
+import com.vacation.model.response.VacationBatchItemResponse;
+import com.vacation.service.VacationBatchService;
+import com.vacation.service.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.VacationCalculator.CalendarYears.workingYear;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VacationBatchServiceTest {
+    @Mock
+    private HolidayCalendarProvider calendarProvider;
+
+    private ValidatorFactory validatorFactory;
+
+    private VacationBatchService vacationBatchService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        VacationPayService vacationPayService = new VacationPayService(calendarProvider, new SimpleMeterRegistry(),
+                new VacationResultCacheProperties());
+        vacationBatchService = new VacationBatchService(vacationPayService, calendarProvider, validatorFactory.getValidator(), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void calculateVacationPay_withMixedItems_shouldReturnResultsInOrderWithPerItemErrors() {
+        // Given
+        List<VacationRequest> requests = List.of(
+                new VacationRequest(new BigDecimal("10000"), 28, null, null),
+                new VacationRequest(new BigDecimal("-1"), 28, null, null),
+                new VacationRequest(new BigDecimal("10000"), 10, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 2)));
+
+        //When
+        List<VacationBatchItemResponse> result = vacationBatchService.calculateVacationPay(requests);
+
+        //Then
+        assertThat(result).extracting(VacationBatchItemResponse::getIndex).containsExactly(0, 1, 2);
+        assertThat(result.get(0).getVacationPay()).isEqualByComparingTo(new BigDecimal("9556.31"));
+        assertThat(result.get(0).getError()).isNull();
+        assertThat(result.get(1).getVacationPay()).isNull();
+        assertThat(result.get(1).getError()).contains("Средняя зарплата должна быть больше 0");
+        assertThat(result.get(2).getError()).isEqualTo("Несоответствие количества дней и дат");
+    }
+
+    @Test
+    void calculateVacationPay_withItemsInSameYears_shouldFetchEachYearOnce() {
+        // Given
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2025)).thenReturn(CompletableFuture.completedFuture(workingYear(2025)));
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2026)).thenReturn(CompletableFuture.completedFuture(workingYear(2026)));
+        List<VacationRequest> requests = List.of(
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 1)),
+                new VacationRequest(new BigDecimal("10000"), 28, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 28)),
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 21), LocalDate.of(2026, 2, 22)));
+
+        //When
+        List<VacationBatchItemResponse> result = vacationBatchService.calculateVacationPay(requests);
+
+        //Then
+        assertThat(result.get(0).getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        assertThat(result.get(1).getVacationPay()).isEqualByComparingTo(new BigDecimal("9556.31"));
+        assertThat(result.get(2).getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        verify(calendarProvider, times(1)).getCalendarYearOrFallbackAsync("ru", 2025);
+        verify(calendarProvider, times(1)).getCalendarYearOrFallbackAsync("ru", 2026);
+    }
+
+    @Test
+    void calculateVacationPay_withUnavailableCalendar_shouldFailOnlyDatedItems() {
+        // Given
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2026)).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Не удалось получить информацию о праздничных днях и выходных")));
+        List<VacationRequest> requests = List.of(
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 21), LocalDate.of(2026, 2, 22)),
+                new VacationRequest(new BigDecimal("10000"), 28, null, null));
+
+        //When
+        List<VacationBatchItemResponse> result = vacationBatchService.calculateVacationPay(requests);
+
+        //Then
+        assertThat(result.get(0).getError()).isEqualTo("Не удалось получить информацию о праздничных днях и выходных");
+        assertThat(result.get(1).getVacationPay()).isEqualByComparingTo(new BigDecimal("9556.31"));
+    }
+
+    @Test
+    void calculateVacationPay_withUnsupportedCountry_shouldFailOnlyItemsOfThatCountry() {
+        // Given
+        when(calendarProvider.getCalendarYearOrFallbackAsync("de", 2026))
+                .thenThrow(new IllegalArgumentException("Календарь страны de не поддерживается"));
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2026)).thenReturn(CompletableFuture.completedFuture(workingYear(2026)));
+        List<VacationRequest> requests = List.of(
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 21), LocalDate.of(2026, 2, 22), "de"),
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 21), LocalDate.of(2026, 2, 22), "ru"),
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3), "de"));
+
+        //When
+        List<VacationBatchItemResponse> result = vacationBatchService.calculateVacationPay(requests);
+
+        //Then
+        assertThat(result.get(0).getError()).isEqualTo("Календарь страны de не поддерживается");
+        assertThat(result.get(1).getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        assertThat(result.get(2).getError()).isEqualTo("Календарь страны de не поддерживается");
+        verify(calendarProvider, times(1)).getCalendarYearOrFallbackAsync("de", 2026);
+    }
+
+    @Test
+    void calculateVacationPay_withApproximateCalendar_shouldFlagDatedItems() {
+        // Given
+        when(calendarProvider.getCalendarYearOrFallbackAsync("ru", 2026)).thenReturn(CompletableFuture.completedFuture(CalendarYear.weekendsOnly(2026)));
+        List<VacationRequest> requests = List.of(
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 22), LocalDate.of(2026, 2, 23)),
+                new VacationRequest(new BigDecimal("10000"), 28, null, null));
+
+        //When
+        List<VacationBatchItemResponse> result = vacationBatchService.calculateVacationPay(requests);
+
+        //Then
+        assertThat(result.get(0).getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        assertThat(result.get(0).getApproximateCalendar()).isTrue();
+        assertThat(result.get(1).getApproximateCalendar()).isNull();
+    }
+
+    @Test
+    void calculateVacationPay_withInvalidPeriods_shouldReportItemErrorsWithoutFetchingCalendars() {
+        // Given
+        LocalDate start = LocalDate.of(1, 1, 1);
+        LocalDate end = LocalDate.of(9999, 12, 31);
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        List<VacationRequest> requests = List.of(
+                new VacationRequest(new BigDecimal("10000"), days, start, end),
+                new VacationRequest(new BigDecimal("10000"), 2, LocalDate.of(2026, 2, 23), LocalDate.of(2026, 2, 21)));
+
+        //When
+        List<VacationBatchItemResponse> result = vacationBatchService.calculateVacationPay(requests);
+
+        //Then
+        assertThat(result.get(0).getError()).isEqualTo("Отпуск не может охватывать больше 100 календарных лет");
+        assertThat(result.get(1).getError()).isEqualTo("Дата окончания отпуска должна быть после даты начала");
+        verifyNoInteractions(calendarProvider);
+    }
+
+    @Test
+    void calculateItem_withApproximateCalendar_shouldUseFallbackAndFlagItem() {
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 2, 22);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        when(calendarProvider.countPaidDaysAsync("ru", startDate, endDate))
+                .thenReturn(CompletableFuture.completedFuture(new PaidDaysCount(2, true)));
+
+        //When
+        VacationBatchItemResponse result = vacationBatchService.calculateItem(5, new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate));
+
+        //Then
+        assertThat(result.getIndex()).isEqualTo(5);
+        assertThat(result.getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        assertThat(result.getApproximateCalendar()).isTrue();
+        assertThat(result.getError()).isNull();
+    }
+
+    @Test
+    void calculateVacationPay_withTooManyItems_shouldThrowException() {
+        // Given
+        VacationRequest request = new VacationRequest(new BigDecimal("10000"), 28, null, null);
+
+        //When & Then
+        assertThatThrownBy(() -> vacationBatchService.calculateVacationPay(List.of(request, request, request, request)))
+                .isInstanceOf(InvalidVacationRequestException.class).hasMessage("Пакет не может содержать больше 3 запросов");
+    }
+}
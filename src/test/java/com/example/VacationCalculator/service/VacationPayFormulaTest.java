@@ -0,0 +1,87 @@
+package com.example.VacationCalculator.service;
+
+import com.vacation.service.VacationPayFormula;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VacationPayFormulaTest {
+
+    //Фиксированное зерно: при расхождении случай воспроизводится
+    private static final long SEED = 20260219L;
+
+    @Test
+    void calculate_withRandomSalariesAndDays_shouldMatchBigDecimalCalculation() {
+        // Given
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            BigDecimal averageSalary = BigDecimal.valueOf(randomUnscaledSalary(random), random.nextInt(5) - 1);
+            int days = random.nextInt(20) == 0 ? 1 + random.nextInt(Integer.MAX_VALUE) : 1 + random.nextInt(1000);
+
+            //When
+            BigDecimal fixedPoint = VacationPayFormula.calculate(averageSalary, days);
+
+            //Then
+            BigDecimal exact = VacationPayFormula.calculateExact(averageSalary, days);
+            if (!fixedPoint.equals(exact)) {
+                assertThat(fixedPoint).as("зарплата %s, дней %d", averageSalary, days).isEqualTo(exact);
+            }
+        }
+    }
+
+    @Test
+    void calculate_withKnownValues_shouldMatchFormula() {
+        //When & Then
+        assertThat(VacationPayFormula.calculate(new BigDecimal("10000"), 28)).isEqualTo(new BigDecimal("9556.31"));
+        assertThat(VacationPayFormula.calculate(new BigDecimal("100000"), 365)).isEqualTo(new BigDecimal("1245733.79"));
+        assertThat(VacationPayFormula.calculate(new BigDecimal("0.01"), 1)).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void calculate_withValuesOutsideLongRange_shouldFallBackToBigDecimal() {
+        // Given
+        BigDecimal hugeSalary = new BigDecimal("92233720368547758.07");
+        BigDecimal preciseSalary = new BigDecimal("12345.6789");
+
+        //When & Then
+        assertThat(VacationPayFormula.calculate(hugeSalary, 28)).isEqualTo(VacationPayFormula.calculateExact(hugeSalary, 28));
+        assertThat(VacationPayFormula.calculate(new BigDecimal("92233720.36"), Integer.MAX_VALUE))
+                .isEqualTo(VacationPayFormula.calculateExact(new BigDecimal("92233720.36"), Integer.MAX_VALUE));
+        assertThat(VacationPayFormula.calculate(preciseSalary, 14)).isEqualTo(VacationPayFormula.calculateExact(preciseSalary, 14));
+    }
+
+    @Test
+    void calculateFromDailyAverage_withRandomValues_shouldMatchBigDecimalCalculation() {
+        // Given
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal dailyAverage = BigDecimal.valueOf(randomUnscaledSalary(random), 10);
+            int days = 1 + random.nextInt(1000);
+
+            //When
+            BigDecimal fixedPoint = VacationPayFormula.calculateFromDailyAverage(dailyAverage, days);
+
+            //Then
+            BigDecimal exact = dailyAverage.multiply(BigDecimal.valueOf(days)).setScale(2, RoundingMode.HALF_UP);
+            if (!fixedPoint.equals(exact)) {
+                assertThat(fixedPoint).as("дневной заработок %s, дней %d", dailyAverage, days).isEqualTo(exact);
+            }
+        }
+    }
+
+    //Обычные зарплаты, большие суммы на границе переполнения и значения во всем диапазоне long
+    private static long randomUnscaledSalary(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 1 + random.nextInt(100_000_000);
+            case 1 -> 1 + random.nextInt(1000);
+            case 2 -> 1 + (random.nextLong() & Long.MAX_VALUE) % 10_000_000_000_000L;
+            default -> 1 + (random.nextLong() & (Long.MAX_VALUE - 1));
+        };
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.VacationCalculator.service;
 
+import com.vacation.config.VacationResultCacheProperties;
 import com.vacation.exception.InvalidVacationRequestException;
-import com.vacation.integration.IsDayOffClient;
+import com.vacation.integration.HolidayCalendarProvider;
+import com.vacation.integration.PaidDaysCount;
 import com.vacation.model.request.VacationRequest;
 import com.vacation.model.response.VacationResponse;
+import com.vacation.service.VacationCalculation;
 import com.vacation.service.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,17 +22,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
 
 @ExtendWith(MockitoExtension.class)
 class VacationPayServiceTest {
     @Mock
-    private IsDayOffClient isDayOffClient;
+    private HolidayCalendarProvider calendarProvider;
 
     private VacationPayService vacationPayService;
 
     @BeforeEach
     void setUp() {
-        vacationPayService = new VacationPayService(isDayOffClient);
+        vacationPayService = new VacationPayService(calendarProvider, new SimpleMeterRegistry(), new VacationResultCacheProperties());
     }
 
     @Test
@@ -139,6 +145,19 @@ class VacationPayServiceTest {
         assertThatThrownBy(()->vacationPayService.calculateVacationPay(vacationRequest)).isInstanceOf(InvalidVacationRequestException.class).hasMessage("Несоответствие количества дней и дат");
     }
 
+    @Test
+    void calculateVacationPayAsync_withPeriodOverMaxYears_shouldThrowException(){
+        //Given
+        LocalDate startDate = LocalDate.of(1900, 1, 1);
+        LocalDate endDate = LocalDate.of(2000, 1, 1);
+
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("100"),
+                (int) ChronoUnit.DAYS.between(startDate, endDate) + 1, startDate, endDate);
+
+        //When & Then
+        assertThatThrownBy(()->vacationPayService.calculateVacationPayAsync(vacationRequest)).isInstanceOf(InvalidVacationRequestException.class).hasMessage("Отпуск не может охватывать больше 100 календарных лет");
+    }
+
     @Test
     void calculateVacationPay_withValidDatesRangeAndNoHolidays_shouldReturnCorrectAmount(){
         // Given
@@ -147,7 +166,7 @@ class VacationPayServiceTest {
         VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 28, startDate, endDate);
 
         //When
-        when(isDayOffClient.countPaidDays(startDate, endDate)).thenReturn(28);
+        when(calendarProvider.countPaidDays("ru", startDate, endDate)).thenReturn(28);
 
         VacationResponse response = vacationPayService.calculateVacationPay(vacationRequest);
 
@@ -163,7 +182,7 @@ class VacationPayServiceTest {
         VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate);
 
         //When
-        when(isDayOffClient.countPaidDays(startDate, endDate)).thenReturn(1);
+        when(calendarProvider.countPaidDays("ru", startDate, endDate)).thenReturn(1);
 
         VacationResponse response = vacationPayService.calculateVacationPay(vacationRequest);
 
@@ -179,7 +198,7 @@ class VacationPayServiceTest {
         VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate);
 
         //When
-        when(isDayOffClient.countPaidDays(startDate, endDate)).thenReturn(2);
+        when(calendarProvider.countPaidDays("ru", startDate, endDate)).thenReturn(2);
 
         VacationResponse response = vacationPayService.calculateVacationPay(vacationRequest);
 
@@ -187,6 +206,146 @@ class VacationPayServiceTest {
         assertThat(response.getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
     }
 
+    @Test
+    void calculateVacationPayAsync_withValidDatesRange_shouldReturnCorrectAmount(){
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 2, 22);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate);
+
+        //When
+        when(calendarProvider.countPaidDaysAsync("ru", startDate, endDate)).thenReturn(CompletableFuture.completedFuture(new PaidDaysCount(1, false)));
+
+        VacationResponse response = vacationPayService.calculateVacationPayAsync(vacationRequest).join();
+
+        //Then
+        assertThat(response.getVacationPay()).isEqualByComparingTo(new BigDecimal("341.3"));
+        assertThat(response.getApproximateCalendar()).isNull();
+    }
+
+    @Test
+    void calculateVacationPayAsync_withApproximateCalendar_shouldFlagResponse(){
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 2, 22);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate);
+
+        //When
+        when(calendarProvider.countPaidDaysAsync("ru", startDate, endDate)).thenReturn(CompletableFuture.completedFuture(new PaidDaysCount(2, true)));
+
+        VacationResponse response = vacationPayService.calculateVacationPayAsync(vacationRequest).join();
+
+        //Then
+        assertThat(response.getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        assertThat(response.getApproximateCalendar()).isTrue();
+    }
+
+    @Test
+    void calculateVacationPayAsync_withDailyAverage_shouldNotRequireSalary(){
+        // Given
+        VacationRequest vacationRequest = new VacationRequest(null, 28, null, null);
+
+        //When
+        VacationResponse response = vacationPayService.calculateVacationPayAsync(vacationRequest, new BigDecimal("3412.9692832765")).join();
+
+        //Then
+        assertThat(response.getVacationPay()).isEqualByComparingTo(new BigDecimal("95563.14"));
+    }
+
+    @Test
+    void calculateVacationPayAsync_withDailyAverageAndDatesRange_shouldCountPaidDays(){
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 2, 22);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        VacationRequest vacationRequest = new VacationRequest(null, 2, startDate, endDate);
+
+        //When
+        when(calendarProvider.countPaidDaysAsync("ru", startDate, endDate)).thenReturn(CompletableFuture.completedFuture(new PaidDaysCount(1, true)));
+
+        VacationResponse response = vacationPayService.calculateVacationPayAsync(vacationRequest, new BigDecimal("3412.9692832765")).join();
+
+        //Then
+        assertThat(response.getVacationPay()).isEqualByComparingTo(new BigDecimal("3412.97"));
+        assertThat(response.getApproximateCalendar()).isTrue();
+    }
+
+    @Test
+    void calculateAsync_withDatesRange_shouldReturnCalendarVersion(){
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 2, 22);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate);
+
+        //When
+        when(calendarProvider.countPaidDaysAsync("ru", startDate, endDate)).thenReturn(CompletableFuture.completedFuture(new PaidDaysCount(1, false, 42)));
+
+        VacationCalculation calculation = vacationPayService.calculateAsync(vacationRequest).join();
+
+        //Then
+        assertThat(calculation.calendarVersion()).isEqualTo(42);
+        assertThat(calculation.response().getVacationPay()).isEqualByComparingTo(new BigDecimal("341.3"));
+    }
+
+    @Test
+    void calculateVacationPayAsync_withResultCache_shouldReuseResultUntilCalendarVersionChanges(){
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VacationResultCacheProperties properties = new VacationResultCacheProperties();
+        properties.setEnabled(true);
+        VacationPayService service = new VacationPayService(calendarProvider, meterRegistry, properties);
+        LocalDate startDate = LocalDate.of(2026, 2, 22);
+        LocalDate endDate = LocalDate.of(2026, 2, 23);
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate);
+        VacationRequest sameRequest = new VacationRequest(new BigDecimal("10000.00"), 2, startDate, endDate);
+
+        //When
+        when(calendarProvider.countPaidDaysAsync("ru", startDate, endDate)).thenReturn(
+                CompletableFuture.completedFuture(new PaidDaysCount(1, false, 1)),
+                CompletableFuture.completedFuture(new PaidDaysCount(1, false, 1)),
+                CompletableFuture.completedFuture(new PaidDaysCount(2, false, 2)));
+
+        VacationResponse first = service.calculateVacationPayAsync(vacationRequest).join();
+        VacationResponse cached = service.calculateVacationPayAsync(sameRequest).join();
+        VacationResponse afterRefresh = service.calculateVacationPayAsync(vacationRequest).join();
+
+        //Then
+        assertThat(cached).isEqualTo(first).isNotSameAs(first);
+        assertThat(afterRefresh.getVacationPay()).isEqualByComparingTo(new BigDecimal("682.59"));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "vacationResults").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void calculateVacationPay_withCountryCode_shouldUseCountryCalendar(){
+        // Given
+        LocalDate startDate = LocalDate.of(2026, 1, 6);
+        LocalDate endDate = LocalDate.of(2026, 1, 7);
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 2, startDate, endDate, "BY");
+
+        //When
+        when(calendarProvider.countPaidDays("by", startDate, endDate)).thenReturn(1);
+
+        VacationResponse response = vacationPayService.calculateVacationPay(vacationRequest);
+
+        //Then
+        assertThat(response.getVacationPay()).isEqualByComparingTo(new BigDecimal("341.3"));
+    }
+
+    @Test
+    void calculateVacationPay_shouldRecordCalculationTimer(){
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VacationPayService service = new VacationPayService(calendarProvider, meterRegistry, new VacationResultCacheProperties());
+        VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 28, null, null);
+
+        //When
+        service.calculateVacationPay(vacationRequest);
+
+        //Then
+        assertThat(meterRegistry.get("vacation.calculation").tag("mode", "days").tag("outcome", "SUCCESS").timer().count())
+                .isEqualTo(1);
+    }
+
     @Test
     void calculateVacationPay_withOnlyHolidaysInDatesRange_shouldThrowException(){
         // Given
@@ -194,7 +353,7 @@ class VacationPayServiceTest {
         LocalDate endDate = LocalDate.of(2026, 1, 7);
         VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 7, startDate, endDate);
 
-        when(isDayOffClient.countPaidDays(startDate, endDate)).thenReturn(0);
+        when(calendarProvider.countPaidDays("ru", startDate, endDate)).thenReturn(0);
 
         //When & Then
         assertThatThrownBy(()->vacationPayService.calculateVacationPay(vacationRequest)).isInstanceOf(IllegalArgumentException.class).hasMessage("Отпуск не может состоять только из праздников");
@@ -207,7 +366,7 @@ class VacationPayServiceTest {
         LocalDate endDate = LocalDate.of(2026, 1, 7);
         VacationRequest vacationRequest = new VacationRequest(new BigDecimal("10000"), 7, startDate, endDate);
 
-        when(isDayOffClient.countPaidDays(startDate, endDate)).thenReturn(-1);
+        when(calendarProvider.countPaidDays("ru", startDate, endDate)).thenReturn(-1);
 
         //When & Then
         assertThatThrownBy(()->vacationPayService.calculateVacationPay(vacationRequest)).isInstanceOf(IllegalArgumentException.class).hasMessage("Отпуск не может состоять только из праздников");